@@ -0,0 +1,73 @@
+package edu.eci.arsw.concurrency;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo del checkpoint {@link PauseController#awaitIfPaused()} sin pausa activa.
+ *
+ * Mientras el benchmark mide el checkpoint, {@code immortals} hilos virtuales
+ * de fondo ejecutan el mismo checkpoint en un ciclo con la misma pausa de 2ms
+ * que Immortal.run().
+ * Con el fast path volátil el costo debe mantenerse plano de 8 a 50k inmortales.
+ * <pre>
+ * mvn -Pjmh -DskipTests compile exec:exec -Djmh.args="CheckpointBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CheckpointBenchmark {
+
+  @Param({"8", "1000", "10000", "50000"})
+  public int immortals;
+
+  private final PauseController controller = new PauseController();
+  private final List<Thread> background = new ArrayList<>();
+  private volatile boolean running;
+
+  @Setup(Level.Trial)
+  public void startBackground() {
+    running = true;
+    for (int i = 0; i < immortals; i++) {
+      background.add(Thread.ofVirtual().start(() -> {
+        try {
+          while (running) {
+            controller.awaitIfPaused();
+            Thread.sleep(2);
+          }
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+        }
+      }));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void stopBackground() throws InterruptedException {
+    running = false;
+    for (Thread t : background) t.join();
+    background.clear();
+  }
+
+  @Benchmark
+  public void checkpoint() throws InterruptedException { controller.awaitIfPaused(); }
+}
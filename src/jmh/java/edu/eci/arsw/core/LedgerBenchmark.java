@@ -0,0 +1,81 @@
+package edu.eci.arsw.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de {@link TransferService#transferLogged} con cada {@link Durability}.
+ *
+ * Cada iteración abre una bitácora nueva en un archivo temporal (del tamaño
+ * máximo, así que no se llena) con {@code accounts} cuentas y mide
+ * transferencias/ms desde 4 hilos. Con GROUP, forces/transfer en la salida
+ * de TearDown muestra cuánto se comparte cada force():
+ * <pre>
+ * mvn -Pjmh -DskipTests compile exec:exec -Djmh.args="LedgerBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LedgerBenchmark {
+  static final int MAX_RECORDS = Integer.MAX_VALUE / TransferLedger.RECORD_BYTES;
+
+  @State(Scope.Benchmark)
+  public static class Journal {
+    @Param({"NONE", "GROUP", "SYNC"})
+    public Durability durability;
+
+    @Param({"64"})
+    public int accounts;
+
+    Path file;
+    TransferLedger ledger;
+    BankAccount[] all;
+
+    @Setup(Level.Iteration)
+    public void setup() throws IOException {
+      file = Files.createTempFile("ledger", ".bin");
+      ledger = TransferLedger.open(file, MAX_RECORDS, durability);
+      all = new BankAccount[accounts];
+      for (int i = 0; i < accounts; i++) all[i] = ledger.openAccount(i, Long.MAX_VALUE / 4);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+      System.out.printf("  [%s] %d records, %.4f forces/transfer%n", durability, ledger.records(),
+        (double) ledger.forces() / Math.max(1, ledger.records()));
+      ledger.close();
+      Files.delete(file);
+    }
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void transfer(Journal journal) {
+    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+    int from = rnd.nextInt(journal.accounts);
+    int to = rnd.nextInt(journal.accounts - 1);
+    if (to >= from) to++;
+    TransferService.transferLogged(journal.ledger, journal.all[from], journal.all[to], 1);
+  }
+}
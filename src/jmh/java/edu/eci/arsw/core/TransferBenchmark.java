@@ -0,0 +1,139 @@
+package edu.eci.arsw.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de {@link TransferService}: transferencias sueltas con orden
+ * total, lotes con un lock por cuenta distinta y transferencias CAS sobre
+ * {@link AtomicBankAccount}.
+ *
+ * El método hot mueve dinero entre cuentas frías y una sola cuenta
+ * caliente, AtomicBankAccount o StripedBankAccount con {@code stripes}
+ * franjas, para ver cuánto compiten los hilos por esa cuenta.
+ *
+ * En los demás, cada invocación aplica BATCH transferencias entre
+ * {@code accounts} cuentas
+ * al azar (pocas cuentas = lotes muy solapados), así que ambas variantes
+ * reportan transferencias/µs:
+ * <pre>
+ * mvn -Pjmh -DskipTests compile exec:exec -Djmh.args="TransferBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransferBenchmark {
+  static final int BATCH = 1000;
+
+  @State(Scope.Benchmark)
+  public static class Bank {
+    @Param({"16", "1000"})
+    public int accounts;
+
+    List<Transfer> batch;
+    AtomicBankAccount[] atomicFrom;
+    AtomicBankAccount[] atomicTo;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+      BankAccount[] all = new BankAccount[accounts];
+      AtomicBankAccount[] atomic = new AtomicBankAccount[accounts];
+      for (int i = 0; i < accounts; i++) {
+        all[i] = new BankAccount(i, Long.MAX_VALUE / 4);
+        atomic[i] = new AtomicBankAccount(i, Long.MAX_VALUE / 4);
+      }
+      atomicFrom = new AtomicBankAccount[BATCH];
+      atomicTo = new AtomicBankAccount[BATCH];
+      SplittableRandom rnd = new SplittableRandom(42);
+      batch = new ArrayList<>(BATCH);
+      for (int i = 0; i < BATCH; i++) {
+        int from = rnd.nextInt(accounts);
+        int to = rnd.nextInt(accounts - 1);
+        if (to >= from) to++;
+        batch.add(new Transfer(all[from], all[to], 1));
+        atomicFrom[i] = atomic[from];
+        atomicTo[i] = atomic[to];
+      }
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  @OperationsPerInvocation(BATCH)
+  public void orderedUncontended(Bank bank) { ordered(bank); }
+
+  @Benchmark
+  @Threads(1)
+  @OperationsPerInvocation(BATCH)
+  public boolean[] batchUncontended(Bank bank) { return batch(bank); }
+
+  @Benchmark
+  @Threads(4)
+  @OperationsPerInvocation(BATCH)
+  public void ordered(Bank bank) {
+    for (Transfer t : bank.batch) TransferService.transferOrdered(t.from(), t.to(), t.amount());
+  }
+
+  @Benchmark
+  @Threads(4)
+  @OperationsPerInvocation(BATCH)
+  public boolean[] batch(Bank bank) { return TransferService.transferBatch(bank.batch, false); }
+
+  @Benchmark
+  @Threads(1)
+  @OperationsPerInvocation(BATCH)
+  public void lockFreeUncontended(Bank bank) { lockFree(bank); }
+
+  @Benchmark
+  @Threads(4)
+  @OperationsPerInvocation(BATCH)
+  public void lockFree(Bank bank) {
+    for (int i = 0; i < BATCH; i++) TransferService.transferLockFree(bank.atomicFrom[i], bank.atomicTo[i], 1);
+  }
+
+  @State(Scope.Benchmark)
+  public static class HotBank {
+    @Param({"1", "8"})
+    public int stripes;
+
+    LockFreeAccount hot;
+    AtomicBankAccount[] cold;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+      hot = stripes == 1 ? new AtomicBankAccount(0, Long.MAX_VALUE / 4) : new StripedBankAccount(0, Long.MAX_VALUE / 4, stripes);
+      cold = new AtomicBankAccount[BATCH];
+      for (int i = 0; i < BATCH; i++) cold[i] = new AtomicBankAccount(i + 1, Long.MAX_VALUE / 4);
+    }
+  }
+
+  @Benchmark
+  @Threads(4)
+  @OperationsPerInvocation(BATCH)
+  public void hot(HotBank bank) {
+    for (int i = 0; i < BATCH; i++) {
+      if ((i & 1) == 0) TransferService.transferLockFree(bank.cold[i], bank.hot, 1);
+      else TransferService.transferLockFree(bank.hot, bank.cold[i], 1);
+    }
+  }
+}
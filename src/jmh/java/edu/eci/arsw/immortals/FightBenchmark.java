@@ -0,0 +1,95 @@
+package edu.eci.arsw.immortals;
+
+import edu.eci.arsw.concurrency.Pacer;
+import edu.eci.arsw.concurrency.PauseController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de las estrategias de pelea de {@link Immortal}.
+ *
+ * Mide peleas/segundo (Throughput) y la distribución de latencia por pelea
+ * (SampleTime reporta p50/p99/p99.9) para cada estrategia y tamaño de población.
+ * La tasa de asignación se obtiene agregando {@code -prof gc}.
+ *
+ * Los métodos {@code uncontended}, {@code threads4} y {@code threadsMax} cubren
+ * distintos niveles de concurrencia. Con {@code strategy=naive} y más de un hilo
+ * el benchmark puede quedar en deadlock (es justamente lo que el lab demuestra),
+ * por eso "naive" no está en los parámetros por defecto:
+ * <pre>
+ * mvn -Pjmh -DskipTests compile exec:exec -Djmh.args="FightBenchmark -prof gc"
+ * mvn -Pjmh -DskipTests compile exec:exec -Djmh.args="FightBenchmark.uncontended -p strategy=naive,ordered,stamped,trylock,lockfree,packed"
+ * </pre>
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FightBenchmark {
+
+  /** Salud alta para que la caminata aleatoria no mate inmortales durante una iteración. */
+  static final int HEALTH = 1_000_000;
+  static final int DAMAGE = 1;
+
+  @State(Scope.Benchmark)
+  public static class Arena {
+    @Param({"8", "64", "1000", "10000"})
+    public int population;
+
+    @Param({"ordered", "stamped", "trylock", "lockfree", "packed"})
+    public String strategy;
+
+    Immortal[] immortals;
+    FightStrategy fight;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+      Population pop = new Population(population);
+      ScoreBoard scoreBoard = new ScoreBoard();
+      PauseController controller = new PauseController();
+      fight = FightStrategy.forName(strategy, population);
+      immortals = new Immortal[population];
+      for (int i = 0; i < population; i++) {
+        immortals[i] = new Immortal(i, "Immortal-" + i, HEALTH, DAMAGE, pop, scoreBoard, controller, fight, Pacer.none());
+        pop.add(immortals[i]);
+      }
+    }
+
+    void fightOnce() throws InterruptedException {
+      ThreadLocalRandom rnd = ThreadLocalRandom.current();
+      int a = rnd.nextInt(immortals.length);
+      int b = rnd.nextInt(immortals.length - 1);
+      if (b >= a) b++;
+      fight.fight(immortals[a], immortals[b]);
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void uncontended(Arena arena) throws InterruptedException { arena.fightOnce(); }
+
+  @Benchmark
+  @Threads(4)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void threads4(Arena arena) throws InterruptedException { arena.fightOnce(); }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void threadsMax(Arena arena) throws InterruptedException { arena.fightOnce(); }
+}
@@ -0,0 +1,86 @@
+package edu.eci.arsw.immortals;
+
+import edu.eci.arsw.concurrency.Pacer;
+import edu.eci.arsw.concurrency.PauseController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Peleas con un lector de monitoreo concurrente (como la UI o el runner headless).
+ *
+ * Grupo de 3 hilos peleando y 1 hilo sumando la salud de toda la población
+ * (lo que hace ImmortalManager.totalHealth()). Reporta por separado las
+ * peleas/µs de los peleadores y las sumas/µs del lector, para ver si leer
+ * retrasa a las peleas y viceversa.
+ * <pre>
+ * mvn -Pjmh -DskipTests compile exec:exec -Djmh.args="MonitoringReadBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonitoringReadBenchmark {
+
+  @State(Scope.Group)
+  public static class Arena {
+    @Param({"64", "1000"})
+    public int population;
+
+    @Param({"ordered", "stamped", "lockfree"})
+    public String strategy;
+
+    Immortal[] immortals;
+    FightStrategy fight;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+      Population pop = new Population(population);
+      ScoreBoard scoreBoard = new ScoreBoard();
+      PauseController controller = new PauseController();
+      fight = FightStrategy.forName(strategy, population);
+      immortals = new Immortal[population];
+      for (int i = 0; i < population; i++) {
+        immortals[i] = new Immortal(i, "Immortal-" + i, FightBenchmark.HEALTH, FightBenchmark.DAMAGE,
+          pop, scoreBoard, controller, fight, Pacer.none());
+        pop.add(immortals[i]);
+      }
+    }
+  }
+
+  @Benchmark
+  @Group("monitored")
+  @GroupThreads(3)
+  public void fight(Arena arena) throws InterruptedException {
+    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+    int a = rnd.nextInt(arena.immortals.length);
+    int b = rnd.nextInt(arena.immortals.length - 1);
+    if (b >= a) b++;
+    arena.fight.fight(arena.immortals[a], arena.immortals[b]);
+  }
+
+  @Benchmark
+  @Group("monitored")
+  @GroupThreads(1)
+  public long totalHealth(Arena arena) {
+    long sum = 0;
+    for (Immortal im : arena.immortals) sum += im.getHealth();
+    return sum;
+  }
+}
@@ -0,0 +1,56 @@
+package edu.eci.arsw.immortals;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compara el contador anterior (un único AtomicLong) con el ScoreBoard
+ * basado en LongAdder, bajo 1, 4 y el máximo de hilos.
+ * <pre>
+ * mvn -Pjmh -DskipTests compile exec:exec -Djmh.args="ScoreBoardBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoreBoardBenchmark {
+
+  private final AtomicLong atomic = new AtomicLong();
+  private final ScoreBoard striped = new ScoreBoard();
+
+  @Benchmark @Threads(1)
+  public long atomicLong_1() { return atomic.incrementAndGet(); }
+
+  @Benchmark @Threads(4)
+  public long atomicLong_4() { return atomic.incrementAndGet(); }
+
+  @Benchmark @Threads(Threads.MAX)
+  public long atomicLong_max() { return atomic.incrementAndGet(); }
+
+  @Benchmark @Threads(1)
+  public void scoreBoard_1() { striped.recordFight(); }
+
+  @Benchmark @Threads(4)
+  public void scoreBoard_4() { striped.recordFight(); }
+
+  @Benchmark @Threads(Threads.MAX)
+  public void scoreBoard_max() { striped.recordFight(); }
+
+  /** Lectura agregada que hace la UI en cada Pause &amp; Check. */
+  @Benchmark @Threads(1)
+  public long scoreBoardRead() { return striped.totalFights(); }
+}
@@ -0,0 +1,100 @@
+package edu.eci.arsw.immortals;
+
+import edu.eci.arsw.concurrency.Pacer;
+import edu.eci.arsw.concurrency.PauseController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Peleas desde hilos virtuales con inmortales "calientes", como en la simulación.
+ *
+ * Los @Threads de JMH son hilos de plataforma, así que FightBenchmark no ve el
+ * pinning: aquí cada invocación lanza THREADS hilos virtuales (uno por
+ * inmortal, 5000 es el máximo del spinner de ControlFrame) que pelean
+ * FIGHTS_PER_THREAD veces; la mitad de los defensores sale de los primeros
+ * {@code hot} inmortales y después de cada pelea se lee getHealth() de uno de
+ * ellos. Con "ordered" un hilo virtual que espera un monitor disputado fija su
+ * carrier; con "stamped" se estaciona y libera el carrier, y getHealth() usa
+ * lectura optimista. La diferencia crece con el número de carriers (núcleos):
+ * con un solo carrier un hilo virtual nunca se desmonta con un monitor tomado
+ * y no hay contención que comparar.
+ * <pre>
+ * mvn -Pjmh -DskipTests compile exec:exec -Djmh.args="VirtualThreadFightBenchmark"
+ * mvn -Pjmh -DskipTests compile exec:exec -Djmh.args="VirtualThreadFightBenchmark -p hot=2,64 -jvmArgs -Djdk.tracePinnedThreads=short"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualThreadFightBenchmark {
+  static final int THREADS = 5000;
+  static final int FIGHTS_PER_THREAD = 100;
+
+  @State(Scope.Benchmark)
+  public static class Arena {
+    @Param({"ordered", "stamped", "trylock"})
+    public String strategy;
+
+    @Param({"8"})
+    public int hot;
+
+    Immortal[] immortals;
+    FightStrategy fight;
+    volatile long sink;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+      Population pop = new Population(THREADS);
+      ScoreBoard scoreBoard = new ScoreBoard();
+      PauseController controller = new PauseController();
+      fight = FightStrategy.forName(strategy, THREADS);
+      immortals = new Immortal[THREADS];
+      for (int i = 0; i < THREADS; i++) {
+        immortals[i] = new Immortal(i, "Immortal-" + i, FightBenchmark.HEALTH, FightBenchmark.DAMAGE,
+          pop, scoreBoard, controller, fight, Pacer.none());
+        pop.add(immortals[i]);
+      }
+    }
+
+    void fightMany(int self) throws InterruptedException {
+      ThreadLocalRandom rnd = ThreadLocalRandom.current();
+      long health = 0;
+      for (int i = 0; i < FIGHTS_PER_THREAD; i++) {
+        int other = rnd.nextBoolean() ? rnd.nextInt(hot) : rnd.nextInt(THREADS);
+        if (other == self) continue;
+        fight.fight(immortals[self], immortals[other]);
+        health += immortals[rnd.nextInt(hot)].getHealth();
+      }
+      sink = health;
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(THREADS * FIGHTS_PER_THREAD)
+  public void hotSpot(Arena arena) {
+    try (ExecutorService exec = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int t = 0; t < THREADS; t++) {
+        int self = t;
+        exec.submit(() -> { arena.fightMany(self); return null; });
+      }
+    }
+  }
+}
@@ -0,0 +1,166 @@
+package edu.eci.arsw.app;
+
+import edu.eci.arsw.concurrency.Quiescence;
+import edu.eci.arsw.immortals.ArenaSimulation;
+import edu.eci.arsw.immortals.OffHeapArena;
+import edu.eci.arsw.immortals.OffHeapPopulation;
+import edu.eci.arsw.immortals.ShardedArena;
+import edu.eci.arsw.immortals.SimulationConfig;
+
+import java.io.PrintStream;
+import java.time.Duration;
+
+/**
+ * Ejecuta la simulación sobre una ArenaSimulation (-Dmode=arena), sin UI.
+ *
+ * Pensado para poblaciones de millones: los inmortales son ids y no objetos.
+ * Con -Darena=offheap (por defecto) toda la población vive en un
+ * OffHeapPopulation compartido; con -Darena=sharded cada worker es dueño de un
+ * shard (ShardedArena) y -Dcross (0.05) es la fracción de peleas entre
+ * shards. Cada intervalo hace Pause &amp; Check (pausa, barrera, suma contra
+ * N * H y resume) e imprime throughput y vivos; al terminar informa el heap
+ * usado y la memoria fuera del heap o el tráfico entre shards, para comparar
+ * con -Dmode=immortals. Se detiene en la primera violación del invariante.
+ *
+ * Propiedades: -Darena, -Dcross, -Dcount (1000000), -Dhealth, -Ddamage,
+ * -Dpacing (por vuelta de cada worker), -Dexecutor, -Dseed, -Dduration
+ * (segundos, 10) y -Dreport (intervalo en ms, 1000). Para 10M inmortales alcanza con
+ * -Xmx256m -XX:MaxDirectMemorySize=512m.
+ */
+public final class ArenaRunner {
+  private static final long PAUSE_TIMEOUT_MS = 2000;
+  private static final long TICK_MS = 10;
+
+  private final int count;
+  private final SimulationConfig config;
+  /** Fracción de peleas entre shards, o negativo para OffHeapArena. */
+  private final double crossShardRatio;
+  private final Duration duration;
+  private final Duration reportEvery;
+  private final PrintStream out;
+
+  /**
+   * Runner sobre OffHeapArena.
+   *
+   * @param count número de inmortales
+   * @param config parámetros de la simulación (ver OffHeapArena)
+   * @param duration duración máxima de la corrida
+   * @param reportEvery intervalo entre reportes
+   * @param out salida para los reportes
+   */
+  public ArenaRunner(int count, SimulationConfig config, Duration duration, Duration reportEvery, PrintStream out) {
+    this(count, config, -1, duration, reportEvery, out);
+  }
+
+  /**
+   * @param count número de inmortales
+   * @param config parámetros de la simulación (ver OffHeapArena y ShardedArena)
+   * @param crossShardRatio fracción de peleas entre shards para ShardedArena, o negativo para OffHeapArena
+   * @param duration duración máxima de la corrida
+   * @param reportEvery intervalo entre reportes
+   * @param out salida para los reportes
+   */
+  public ArenaRunner(int count, SimulationConfig config, double crossShardRatio, Duration duration,
+                     Duration reportEvery, PrintStream out) {
+    this.count = count;
+    this.config = config;
+    this.crossShardRatio = crossShardRatio;
+    this.duration = duration;
+    this.reportEvery = reportEvery;
+    this.out = out;
+  }
+
+  /**
+   * Crea el runner a partir de las propiedades del sistema.
+   *
+   * @return runner configurado con -Darena, -Dcross, -Dcount, -Dduration, -Dreport, etc.
+   * @throws IllegalArgumentException si -Darena no es offheap ni sharded
+   */
+  public static ArenaRunner fromSystemProperties() {
+    String arena = System.getProperty("arena", "offheap");
+    double cross = switch (arena) {
+      case "offheap" -> -1;
+      case "sharded" -> Double.parseDouble(System.getProperty("cross", "0.05"));
+      default -> throw new IllegalArgumentException("Unknown arena: " + arena + " (use offheap|sharded)");
+    };
+    return new ArenaRunner(
+      Integer.getInteger("count", 1_000_000),
+      SimulationConfig.defaults(),
+      cross,
+      Duration.ofSeconds(Long.getLong("duration", 10)),
+      Duration.ofMillis(Long.getLong("report", 1000)),
+      System.out);
+  }
+
+  /**
+   * Ejecuta hasta agotar la duración o quedar un solo inmortal vivo.
+   *
+   * @return 0 si el invariante se mantuvo, HeadlessRunner.INVARIANT_VIOLATION si no
+   * @throws InterruptedException si el hilo es interrumpido
+   */
+  public int run() throws InterruptedException {
+    out.printf("Arena run: %d immortals %s, executor=%s, pacing=%s, health=%d, damage=%d, seed=%d, duration=%ds%n",
+      count, crossShardRatio < 0 ? "off-heap" : "sharded (cross=" + crossShardRatio + ")", config.executor(), config.pacing(),
+      config.initialHealth(), config.damage(), config.seed(), duration.toSeconds());
+    long setup = System.nanoTime();
+    try (ArenaSimulation arena = crossShardRatio < 0 ? new OffHeapArena(count, config) : new ShardedArena(count, config, crossShardRatio)) {
+      if (arena instanceof OffHeapArena offHeap) {
+        out.printf("Allocated %.1f MB off-heap (%.3f bytes/immortal) in %.0fms%n",
+          offHeap.population().offHeapBytes() / 1e6, OffHeapPopulation.bytesPerImmortal(), (System.nanoTime() - setup) / 1e6);
+      } else if (arena instanceof ShardedArena sharded) {
+        out.printf("Partitioned into %d shards in %.0fms%n", sharded.shardCount(), (System.nanoTime() - setup) / 1e6);
+      }
+      long start = System.nanoTime();
+      long deadline = start + duration.toNanos();
+      long nextReport = start + reportEvery.toNanos();
+      long lastFights = 0;
+      long lastReport = start;
+      arena.start();
+      while (true) {
+        Thread.sleep(TICK_MS);
+        long now = System.nanoTime();
+        boolean done = now >= deadline || arena.aliveCount() <= 1;
+        if (!done && now < nextReport) continue;
+
+        long fights = arena.totalFights();
+        if (!check(arena, now - start, fights, (fights - lastFights) / Math.max(1e-9, (now - lastReport) / 1e9))) {
+          out.println("INVARIANT VIOLATED, stopping");
+          return HeadlessRunner.INVARIANT_VIOLATION;
+        }
+        if (done) break;
+        lastFights = fights;
+        lastReport = System.nanoTime();
+        nextReport = lastReport + reportEvery.toNanos();
+      }
+      arena.stop();
+      double seconds = Math.max(1, System.nanoTime() - start) / 1e9;
+      long fights = arena.totalFights();
+      Runtime rt = Runtime.getRuntime();
+      out.printf("Done: %d fights in %.2fs (%.0f fights/s), alive=%d, heap used=%.1f MB%n",
+        fights, seconds, fights / seconds, arena.aliveCount(), (rt.totalMemory() - rt.freeMemory()) / 1e6);
+      if (arena instanceof OffHeapArena offHeap) {
+        out.printf("Off-heap: %.1f MB%n", offHeap.population().offHeapBytes() / 1e6);
+      } else if (arena instanceof ShardedArena sharded) {
+        out.printf("Cross-shard: %d fights (%.1f%%), %d health in transit%n", sharded.crossShardFights(),
+          100.0 * sharded.crossShardFights() / Math.max(1, fights), sharded.inTransit());
+      }
+      return 0;
+    }
+  }
+
+  /** Pausa, valida el invariante, imprime una línea de reporte y reanuda. */
+  private boolean check(ArenaSimulation arena, long elapsedNanos, long fights, double rate) throws InterruptedException {
+    arena.pause();
+    try {
+      Quiescence q = arena.awaitPaused(PAUSE_TIMEOUT_MS);
+      long total = arena.totalHealth();
+      long expected = arena.expectedTotalHealth();
+      String verdict = !q.reached() ? "SKIPPED (" + q.stragglers() + " stragglers)" : total == expected ? "OK" : "FAIL";
+      out.printf("t=%6.2fs fights=%d rate=%.0f/s alive=%d total=%d/%d %s pause=%.3fms%n",
+        elapsedNanos / 1e9, fights, rate, arena.aliveCount(), total, expected, verdict, q.waitedNanos() / 1e6);
+      return !q.reached() || total == expected;
+    } finally {
+      arena.resume();
+    }
+  }
+}
@@ -0,0 +1,221 @@
+package edu.eci.arsw.app;
+
+import edu.eci.arsw.concurrency.Quiescence;
+import edu.eci.arsw.immortals.FightReplay;
+import edu.eci.arsw.immortals.HealthSnapshot;
+import edu.eci.arsw.immortals.ImmortalManager;
+import edu.eci.arsw.immortals.InvariantChecker;
+import edu.eci.arsw.immortals.SimulationConfig;
+import edu.eci.arsw.metrics.LatencyHistogram;
+import edu.eci.arsw.metrics.PinningMonitor;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ejecuta la simulación sin UI (servidores sin X / pruebas de carga).
+ *
+ * Corre ImmortalManager por una duración o hasta un presupuesto de peleas y
+ * cada intervalo imprime throughput, vivos, la validación del invariante
+ * N * H (con Pause &amp; Check real: pausa, barrera de quiescencia y resume; o,
+ * con -Dsnapshots=true, con un snapshot consistente sin pausar) y
+ * percentiles de latencia por pelea. Se detiene en la primera violación del
+ * invariante y lo informa con el código de salida.
+ *
+ * Con -Dfightlog=N, al terminar repite la bitácora en un solo hilo y compara
+ * la salud final de cada inmortal contra ese oráculo secuencial; -Dseed fija
+ * los generadores de oponentes para reproducir la corrida. Con -Dpinning=MS
+ * cuenta por JFR los eventos jdk.VirtualThreadPinned de al menos MS ms, para
+ * comparar políticas de hilos (-Dexecutor). Con -Daudit=MS se activa
+ * InvariantChecker: cada pelea informa su deriva y un auditor muestrea
+ * parejas cada MS ms; la primera alerta detiene la corrida en el siguiente
+ * tick (10 ms), sin esperar al reporte.
+ *
+ * Propiedades: -Dcount, -Dfight, -Dpacing, -Dhealth, -Ddamage, -Dstats,
+ * -Dexecution, -Dexecutor, -Dsnapshots, -Daudit, -Dseed, -Dfightlog, -Dpinning, -Dduration (segundos, 10), -Dfights (presupuesto,
+ * 0 = sin límite) y -Dreport (intervalo en ms, 1000).
+ */
+public final class HeadlessRunner {
+  /** Código de salida cuando se viola el invariante. */
+  public static final int INVARIANT_VIOLATION = 2;
+
+  private static final long PAUSE_TIMEOUT_MS = 2000;
+  private static final long TICK_MS = 10;
+  /** Alertas de deriva que se imprimen; las demás solo se cuentan. */
+  private static final int MAX_ALERTS_PRINTED = 5;
+
+  private final int count;
+  private final SimulationConfig config;
+  private final Duration duration;
+  private final long fightBudget;
+  private final Duration reportEvery;
+  private final PrintStream out;
+  private final Duration pinningThreshold;
+
+  /**
+   * @param count número de inmortales
+   * @param config parámetros de la simulación (se fuerza el registro de latencia)
+   * @param duration duración máxima de la corrida
+   * @param fightBudget peleas tras las cuales se detiene (0 = sin límite)
+   * @param reportEvery intervalo entre reportes
+   * @param out salida para los reportes
+   */
+  public HeadlessRunner(int count, SimulationConfig config, Duration duration, long fightBudget,
+                        Duration reportEvery, PrintStream out) {
+    this(count, config, duration, fightBudget, reportEvery, out, null);
+  }
+
+  /**
+   * @param count número de inmortales
+   * @param config parámetros de la simulación (se fuerza el registro de latencia)
+   * @param duration duración máxima de la corrida
+   * @param fightBudget peleas tras las cuales se detiene (0 = sin límite)
+   * @param reportEvery intervalo entre reportes
+   * @param out salida para los reportes
+   * @param pinningThreshold umbral de los eventos de pinning a contar con JFR, o null para no medirlos
+   */
+  public HeadlessRunner(int count, SimulationConfig config, Duration duration, long fightBudget,
+                        Duration reportEvery, PrintStream out, Duration pinningThreshold) {
+    this.count = count;
+    this.config = config.withRecordLatency(true);
+    this.duration = duration;
+    this.fightBudget = fightBudget;
+    this.reportEvery = reportEvery;
+    this.out = out;
+    this.pinningThreshold = pinningThreshold;
+  }
+
+  /**
+   * Crea el runner a partir de las propiedades del sistema.
+   *
+   * @return runner configurado con -Dcount, -Dduration, -Dfights, -Dreport, -Dpinning, etc.
+   */
+  public static HeadlessRunner fromSystemProperties() {
+    Long pinningMs = Long.getLong("pinning");
+    return new HeadlessRunner(
+      Integer.getInteger("count", 8),
+      SimulationConfig.defaults(),
+      Duration.ofSeconds(Long.getLong("duration", 10)),
+      Long.getLong("fights", 0),
+      Duration.ofMillis(Long.getLong("report", 1000)),
+      System.out,
+      pinningMs == null ? null : Duration.ofMillis(pinningMs));
+  }
+
+  /**
+   * Ejecuta la simulación hasta agotar la duración, el presupuesto de peleas
+   * o quedar un solo inmortal vivo.
+   *
+   * @return 0 si el invariante (y el oráculo, si hay bitácora) se mantuvo, INVARIANT_VIOLATION si no
+   * @throws InterruptedException si el hilo es interrumpido
+   */
+  public int run() throws InterruptedException {
+    out.printf("Headless run: %d immortals, execution=%s, executor=%s, fight=%s, pacing=%s, health=%d, damage=%d, seed=%d, duration=%ds, fights=%s%n",
+      count, config.execution().name().toLowerCase(Locale.ROOT), config.executor(), config.fightMode(), config.pacing(), config.initialHealth(), config.damage(), config.seed(), duration.toSeconds(),
+      fightBudget > 0 ? fightBudget : "unbounded");
+    try (ImmortalManager manager = new ImmortalManager(count, config);
+         PinningMonitor pinning = pinningThreshold == null ? null : new PinningMonitor(pinningThreshold)) {
+      long start = System.nanoTime();
+      long deadline = start + duration.toNanos();
+      long nextReport = start + reportEvery.toNanos();
+      long lastFights = 0;
+      long lastReport = start;
+      InvariantChecker checker = manager.invariantChecker();
+      if (checker != null) {
+        AtomicInteger printed = new AtomicInteger();
+        checker.addListener(alert -> { if (printed.getAndIncrement() < MAX_ALERTS_PRINTED) out.println("Drift alert: " + alert); });
+      }
+      manager.start();
+      while (true) {
+        Thread.sleep(TICK_MS);
+        long now = System.nanoTime();
+        long fights = manager.scoreBoard().totalFights();
+        if (checker != null && checker.alerts() > 0) {
+          out.printf("INVARIANT DRIFT at t=%.2fs after %d fights: drift=%d, alerts=%d, stopping%n",
+            (now - start) / 1e9, fights, checker.drift(), checker.alerts());
+          return INVARIANT_VIOLATION;
+        }
+        boolean done = now >= deadline || (fightBudget > 0 && fights >= fightBudget) || manager.aliveCount() <= 1;
+        if (!done && now < nextReport) continue;
+
+        boolean ok = check(manager, now - start, fights, (fights - lastFights) / secondsBetween(lastReport, now));
+        if (!ok) {
+          out.println("INVARIANT VIOLATED, stopping");
+          return INVARIANT_VIOLATION;
+        }
+        if (done) break;
+        lastFights = fights;
+        lastReport = System.nanoTime();
+        nextReport = lastReport + reportEvery.toNanos();
+      }
+      manager.stop();
+      double seconds = secondsBetween(start, System.nanoTime());
+      long fights = manager.scoreBoard().totalFights();
+      out.printf("Done: %d fights in %.2fs (%.0f fights/s), alive=%d%n", fights, seconds, fights / seconds, manager.aliveCount());
+      if (checker != null) {
+        out.printf("Audit: drift=%d, alerts=%d, %d immortals sampled%n", checker.drift(), checker.alerts(), checker.audited());
+      }
+      if (manager.fightStrategy().name().equals("actor")) {
+        out.printf("Mailboxes: %d attacks rejected by backpressure (%.2f%%)%n",
+          manager.mailboxRejections(), 100.0 * manager.mailboxRejections() / Math.max(1, fights + manager.mailboxRejections()));
+      }
+      if (pinning != null) {
+        pinning.stop();
+        out.printf("Pinning: %d %s events >= %dms, %.3fms pinned in total%n",
+          pinning.events(), PinningMonitor.EVENT, pinningThreshold.toMillis(), pinning.pinnedNanos() / 1e6);
+      }
+      return manager.scoreBoard().fightLog() == null || replay(manager) ? 0 : INVARIANT_VIOLATION;
+    }
+  }
+
+  /** Repite la bitácora en un hilo y compara contra la salud final; false si difieren. */
+  private boolean replay(ImmortalManager manager) {
+    if (manager.scoreBoard().fightLog().truncated()) {
+      out.println("Replay: SKIPPED (fight log truncated, raise -Dfightlog)");
+      return true;
+    }
+    manager.replay(); // calentamiento: el costo por pelea se mide con el código ya compilado por el JIT
+    FightReplay.Result r = manager.replay();
+    int mismatches = r.mismatches(manager.healthById());
+    out.printf("Replay: %d fights in %.3fms (%.1f ns/fight), divergent=%d, oracle %s%n",
+      r.fights(), r.nanos() / 1e6, r.nanosPerFight(), r.divergent(),
+      mismatches == 0 ? "MATCH" : "MISMATCH (" + mismatches + " immortals differ)");
+    return mismatches == 0;
+  }
+
+  /** Pausa, valida el invariante, imprime una línea de reporte y reanuda. */
+  private boolean check(ImmortalManager manager, long elapsedNanos, long fights, double rate) throws InterruptedException {
+    if (config.snapshots()) return checkSnapshot(manager, elapsedNanos, fights, rate);
+    manager.pause();
+    try {
+      Quiescence q = manager.awaitPaused(PAUSE_TIMEOUT_MS);
+      long total = manager.totalHealth();
+      long expected = manager.expectedTotalHealth();
+      LatencyHistogram latency = manager.scoreBoard().latency();
+      String verdict = !q.reached() ? "SKIPPED (" + q.stragglers() + " stragglers)" : total == expected ? "OK" : "FAIL";
+      out.printf("t=%6.2fs fights=%d rate=%.0f/s alive=%d total=%d/%d %s pause=%.3fms p50=%dns p99=%dns p99.9=%dns%n",
+        elapsedNanos / 1e9, fights, rate, manager.aliveCount(), total, expected, verdict, q.waitedNanos() / 1e6,
+        latency.percentile(50), latency.percentile(99), latency.percentile(99.9));
+      return !q.reached() || total == expected;
+    } finally {
+      manager.resume();
+    }
+  }
+
+  /** Valida el invariante sobre un snapshot consistente, sin detener las peleas. */
+  private boolean checkSnapshot(ImmortalManager manager, long elapsedNanos, long fights, double rate) {
+    HealthSnapshot snap = manager.snapshot();
+    long expected = manager.expectedTotalHealth();
+    LatencyHistogram latency = manager.scoreBoard().latency();
+    out.printf("t=%6.2fs fights=%d rate=%.0f/s alive=%d total=%d/%d %s snapshot=%.3fms p50=%dns p99=%dns p99.9=%dns%n",
+      elapsedNanos / 1e9, fights, rate, manager.aliveCount(), snap.total(), expected, snap.total() == expected ? "OK" : "FAIL",
+      snap.nanos() / 1e6, latency.percentile(50), latency.percentile(99), latency.percentile(99.9));
+    return snap.total() == expected;
+  }
+
+  private static double secondsBetween(long fromNanos, long toNanos) {
+    return Math.max(1, toNanos - fromNanos) / 1e9;
+  }
+}
@@ -18,14 +18,22 @@ public final class Main {
           default -> System.out.println("Use -Ddemo=1|2|3");
         }
       }
-      case "immortals", "ui" -> {
+      case "immortals" -> {
+        int code = HeadlessRunner.fromSystemProperties().run();
+        if (code != 0) System.exit(code);
+      }
+      case "arena" -> {
+        int code = ArenaRunner.fromSystemProperties().run();
+        if (code != 0) System.exit(code);
+      }
+      case "ui" -> {
         int n = Integer.getInteger("count", 8);
         String fight = System.getProperty("fight", "ordered");
         javax.swing.SwingUtilities.invokeLater(
           () -> new edu.eci.arsw.highlandersim.ControlFrame(n, fight)
         );
       }
-      default -> System.out.println("Use -Dmode=immortals|demos|ui");
+      default -> System.out.println("Use -Dmode=immortals|arena|demos|ui");
     }
   }
 }
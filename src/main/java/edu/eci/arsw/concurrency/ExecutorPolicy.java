@@ -0,0 +1,93 @@
+package edu.eci.arsw.concurrency;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Política de hilos con la que corre la simulación (-Dexecutor).
+ *
+ * VIRTUAL es un hilo virtual por tarea (newVirtualThreadPerTaskExecutor). Un
+ * hilo virtual que espera dentro de un bloque synchronized fija (pin) su
+ * carrier, y con mucha contención en los monitores el paralelismo real cae
+ * al número de carriers libres. PLATFORM usa un pool fijo de hilos de
+ * plataforma y FORKJOIN un ForkJoinPool propio, ambos con parallelism hilos
+ * (por defecto, los núcleos); con ellos cada hilo atiende una porción de las
+ * tareas en vez de una tarea por hilo (ver perTask()).
+ *
+ * @param kind tipo de executor
+ * @param parallelism hilos del pool (se ignora en VIRTUAL)
+ */
+public record ExecutorPolicy(Kind kind, int parallelism) {
+
+  /** Tipo de executor. */
+  public enum Kind { VIRTUAL, PLATFORM, FORKJOIN }
+
+  /**
+   * @throws IllegalArgumentException si parallelism no es positivo
+   */
+  public ExecutorPolicy {
+    if (parallelism <= 0) throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+  }
+
+  /** Un hilo virtual por tarea. */
+  public static ExecutorPolicy virtual() { return new ExecutorPolicy(Kind.VIRTUAL, cores()); }
+
+  /**
+   * Construye la política a partir de una especificación de texto (-Dexecutor).
+   *
+   * Formatos: "virtual", "platform", "platform:N", "forkjoin" y "forkjoin:N";
+   * sin N se usan tantos hilos como procesadores disponibles.
+   *
+   * @param spec especificación de la política
+   * @return la política correspondiente
+   * @throws IllegalArgumentException si la especificación no es válida
+   */
+  public static ExecutorPolicy parse(String spec) {
+    String s = spec.trim().toLowerCase(Locale.ROOT);
+    int colon = s.indexOf(':');
+    String name = colon < 0 ? s : s.substring(0, colon);
+    int threads = cores();
+    if (colon >= 0) {
+      try {
+        threads = Integer.parseInt(s.substring(colon + 1));
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid executor parallelism: " + spec, e);
+      }
+    }
+    return switch (name) {
+      case "virtual" -> new ExecutorPolicy(Kind.VIRTUAL, threads);
+      case "platform" -> new ExecutorPolicy(Kind.PLATFORM, threads);
+      case "forkjoin" -> new ExecutorPolicy(Kind.FORKJOIN, threads);
+      default -> throw new IllegalArgumentException("Invalid executor: " + spec + " (use virtual|platform[:N]|forkjoin[:N])");
+    };
+  }
+
+  /**
+   * Indica si la política admite una tarea de larga vida por hilo.
+   *
+   * @return true para VIRTUAL; false para los pools de tamaño fijo, donde
+   *         tareas que nunca terminan dejarían sin hilo a las demás
+   */
+  public boolean perTask() { return kind == Kind.VIRTUAL; }
+
+  /**
+   * Crea un executor nuevo según la política.
+   *
+   * @return executor que el llamador debe cerrar
+   */
+  public ExecutorService newExecutor() {
+    return switch (kind) {
+      case VIRTUAL -> Executors.newVirtualThreadPerTaskExecutor();
+      case PLATFORM -> Executors.newFixedThreadPool(parallelism, Thread.ofPlatform().name("immortal-worker-", 0).factory());
+      case FORKJOIN -> new ForkJoinPool(parallelism);
+    };
+  }
+
+  @Override public String toString() {
+    return kind == Kind.VIRTUAL ? "virtual" : kind.name().toLowerCase(Locale.ROOT) + ":" + parallelism;
+  }
+
+  private static int cores() { return Runtime.getRuntime().availableProcessors(); }
+}
@@ -0,0 +1,115 @@
+package edu.eci.arsw.concurrency;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ritmo entre peleas (think time) de los hilos de la simulación.
+ *
+ * Reemplaza el Thread.sleep(2) fijo para poder correr tanto pruebas de
+ * saturación (none) como cargas realistas: pausa fija, pausa exponencial
+ * (llegadas de Poisson) o un límite de peleas/segundo para toda la población
+ * (token bucket compartido).
+ */
+@FunctionalInterface
+public interface Pacer {
+
+  /**
+   * Espera lo que corresponda antes de la siguiente pelea.
+   *
+   * @throws InterruptedException si el hilo es interrumpido mientras espera
+   */
+  void pace() throws InterruptedException;
+
+  /** Sin espera: cada hilo pelea tan rápido como puede. */
+  static Pacer none() { return () -> { }; }
+
+  /**
+   * Pausa fija después de cada pelea.
+   *
+   * @param delay tiempo de espera
+   * @return pacer de pausa fija
+   */
+  static Pacer fixed(Duration delay) {
+    return () -> Thread.sleep(delay);
+  }
+
+  /**
+   * Pausa con distribución exponencial (cada hilo genera llegadas de Poisson).
+   *
+   * @param mean pausa promedio
+   * @return pacer exponencial
+   */
+  static Pacer exponential(Duration mean) {
+    long meanNanos = mean.toNanos();
+    return () -> {
+      double u = ThreadLocalRandom.current().nextDouble();
+      Thread.sleep(Duration.ofNanos((long) (-meanNanos * Math.log(1.0 - u))));
+    };
+  }
+
+  /**
+   * Límite global de peleas por segundo para toda la población.
+   *
+   * @param fightsPerSecond tasa máxima sostenida
+   * @param burst peleas que se pueden acumular mientras nadie pelea
+   * @return pacer compartido (token bucket)
+   */
+  static Pacer rateLimit(double fightsPerSecond, int burst) { return rateLimit(fightsPerSecond, burst, null); }
+
+  /**
+   * Límite de tasa que, mientras espera su turno, pasa por el checkpoint de
+   * pausa de controller cada pocos milisegundos.
+   *
+   * @param fightsPerSecond tasa máxima sostenida
+   * @param burst peleas que se pueden acumular mientras nadie pelea
+   * @param controller controlador de pausa de los hilos que llaman a pace(), o null
+   * @return pacer compartido (token bucket)
+   */
+  static Pacer rateLimit(double fightsPerSecond, int burst, PauseController controller) {
+    return new TokenBucketPacer(fightsPerSecond, burst, controller);
+  }
+
+  /**
+   * Construye un pacer a partir de una especificación de texto (-Dpacing).
+   *
+   * Formatos: "none", "fixed:MS", "exp:MS" (media en ms, admite decimales) y
+   * "rate:PELEAS_POR_SEGUNDO".
+   *
+   * @param spec especificación del ritmo
+   * @return el pacer correspondiente
+   * @throws IllegalArgumentException si la especificación no es válida
+   */
+  static Pacer parse(String spec) { return parse(spec, null); }
+
+  /**
+   * Como parse(String), pero "rate" atiende las pausas de controller mientras
+   * espera su turno (ver rateLimit(double, int, PauseController)).
+   *
+   * @param spec especificación del ritmo
+   * @param controller controlador de pausa de los hilos que llaman a pace(), o null
+   * @return el pacer correspondiente
+   * @throws IllegalArgumentException si la especificación no es válida
+   */
+  static Pacer parse(String spec, PauseController controller) {
+    String s = spec.trim().toLowerCase(Locale.ROOT);
+    if (s.equals("none")) return none();
+    int colon = s.indexOf(':');
+    if (colon < 0) throw new IllegalArgumentException("Invalid pacing: " + spec + " (use none|fixed:MS|exp:MS|rate:PER_SECOND)");
+    String kind = s.substring(0, colon);
+    double value;
+    try {
+      value = Double.parseDouble(s.substring(colon + 1));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid pacing value: " + spec, e);
+    }
+    if (value < 0 || (kind.equals("rate") && value == 0)) throw new IllegalArgumentException("Invalid pacing value: " + spec);
+    return switch (kind) {
+      case "fixed" -> fixed(Duration.ofNanos((long) (value * 1_000_000)));
+      case "exp" -> exponential(Duration.ofNanos((long) (value * 1_000_000)));
+      case "rate" -> rateLimit(value, 1, controller);
+      default -> throw new IllegalArgumentException("Invalid pacing: " + spec + " (use none|fixed:MS|exp:MS|rate:PER_SECOND)");
+    };
+  }
+}
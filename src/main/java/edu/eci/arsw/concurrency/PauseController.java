@@ -1,5 +1,6 @@
 package edu.eci.arsw.concurrency;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
@@ -19,17 +20,30 @@ import java.util.concurrent.locks.ReentrantLock;
 public final class PauseController {
   private final ReentrantLock lock = new ReentrantLock();
   private final Condition unpaused = lock.newCondition();
+  private final Condition quiescent = lock.newCondition();
   private volatile boolean paused = false;
   private final AtomicInteger pausedThreads = new AtomicInteger(0);
+  /** Hilos trabajadores registrados (guardado por lock). */
+  private int registeredThreads = 0;
+  /** Meta del observador en espera: NO_WAITER, REGISTERED o un número explícito (guardado por lock). */
+  private int awaitedParties = NO_WAITER;
+
+  private static final int NO_WAITER = -1;
+  private static final int REGISTERED = -2;
 
   /**
    * Solicita la pausa de todos los hilos.
    * 
    * PUNTO 4 DEL ENUNCIADO: Implementación de pausa.
-   * Marca la bandera paused y resetea el contador. Los hilos se pausarán
-   * al llegar al siguiente checkpoint (awaitIfPaused) en su ciclo.
+   * Marca la bandera paused. Los hilos se pausarán al llegar al siguiente
+   * checkpoint (awaitIfPaused) en su ciclo.
+   * 
+   * El contador no se reinicia aquí: un hilo despertado por el resume()
+   * anterior puede no haber decrementado todavía, y reiniciarlo dejaría el
+   * conteo por debajo de los hilos realmente pausados. Los incrementos y
+   * decrementos de awaitIfPaused() ya lo mantienen exacto.
    */
-  public void pause() { lock.lock(); try { paused = true; pausedThreads.set(0); } finally { lock.unlock(); } }
+  public void pause() { lock.lock(); try { paused = true; } finally { lock.unlock(); } }
   
   /**
    * Reanuda la ejecución de todos los hilos pausados.
@@ -53,6 +67,37 @@ public final class PauseController {
    */
   public int getPausedThreadCount() { return pausedThreads.get(); }
 
+  /**
+   * Registra al hilo actual como participante de la barrera de quiescencia.
+   * 
+   * Cada trabajador se registra al iniciar su ciclo y se da de baja al
+   * terminar, de modo que waitUntilQuiescent() sabe cuántos hilos deben
+   * estar pausados sin que el llamador tenga que contarlos.
+   */
+  public void register() { lock.lock(); try { registeredThreads++; } finally { lock.unlock(); } }
+
+  /**
+   * Da de baja al hilo actual (terminó su ciclo o murió).
+   * 
+   * Si un observador espera la quiescencia y este era el último hilo
+   * pendiente, se le despierta de inmediato.
+   */
+  public void deregister() {
+    lock.lock();
+    try { registeredThreads--; signalIfQuiescent(); }
+    finally { lock.unlock(); }
+  }
+
+  /**
+   * Obtiene el número de hilos registrados.
+   * 
+   * @return cantidad de trabajadores activos registrados
+   */
+  public int getRegisteredThreadCount() {
+    lock.lock();
+    try { return registeredThreads; } finally { lock.unlock(); }
+  }
+
   /**
    * Checkpoint cooperativo: el hilo se pausa si la bandera está activa.
    * 
@@ -65,13 +110,22 @@ public final class PauseController {
    * El finally garantiza decremento del contador incluso si await() lanza
    * InterruptedException, manteniendo consistencia del contador.
    * 
+   * Fast path: sin pausa activa el checkpoint es una única lectura volátil
+   * (sin lock ni CAS), de modo que miles de hilos virtuales no compiten por
+   * el lock global. Solo se toma el lock cuando hay una pausa en curso; la
+   * condición se re-verifica bajo el lock, así que no se pierden señales de
+   * resume(). Un hilo que lee paused==false justo antes de pause() hace una
+   * iteración más y se detiene en el siguiente checkpoint.
+   * 
    * @throws InterruptedException si el hilo es interrumpido mientras espera
    */
   public void awaitIfPaused() throws InterruptedException {
+    if (!paused) return;
     lock.lockInterruptibly();
     try {
       while (paused) {
         pausedThreads.incrementAndGet();
+        signalIfQuiescent();
         try { unpaused.await(); }
         finally { pausedThreads.decrementAndGet(); }
       }
@@ -79,11 +133,11 @@ public final class PauseController {
   }
 
   /**
-   * Espera activa hasta que el número esperado de hilos estén pausados.
+   * Espera hasta que el número esperado de hilos estén pausados.
    * 
    * PUNTO 4 DEL ENUNCIADO: Asegurar que todos los hilos están pausados.
-   * Implementa polling con timeout para verificar que todos los hilos
-   * han llegado al checkpoint (await) antes de leer el estado del sistema.
+   * Barrera de quiescencia basada en Condition: el último hilo en llegar al
+   * checkpoint despierta al observador, sin polling ni latencia añadida.
    * Esto garantiza una "fotografía atómica" consistente, sin updates en curso.
    * 
    * Sin esta espera, algunos hilos podrían estar ejecutando fight() cuando
@@ -91,12 +145,51 @@ public final class PauseController {
    * 
    * @param expectedThreads número esperado de hilos que deben pausarse
    * @param timeoutMs tiempo máximo de espera en milisegundos
-   * @throws InterruptedException si el hilo es interrumpido durante sleep
+   * @return resultado de la espera (alcanzada o no, hilos pendientes)
+   * @throws InterruptedException si el hilo es interrumpido durante la espera
+   */
+  public Quiescence waitUntilPaused(int expectedThreads, long timeoutMs) throws InterruptedException {
+    return awaitParked(expectedThreads, timeoutMs);
+  }
+
+  /**
+   * Espera hasta que todos los hilos registrados estén pausados.
+   * 
+   * A diferencia de waitUntilPaused(), la meta se ajusta sola si algún hilo
+   * termina (deregister) mientras se espera, así que un inmortal que muere
+   * durante la pausa no deja al observador esperando hasta el timeout.
+   * Pensado para un único observador (la UI o el runner).
+   * 
+   * @param timeoutMs tiempo máximo de espera en milisegundos
+   * @return resultado de la espera (alcanzada o no, hilos pendientes)
+   * @throws InterruptedException si el hilo es interrumpido durante la espera
    */
-  public void waitUntilPaused(int expectedThreads, int timeoutMs) throws InterruptedException {
-    long deadline = System.currentTimeMillis() + timeoutMs;
-    while (pausedThreads.get() < expectedThreads && System.currentTimeMillis() < deadline) {
-      Thread.sleep(10);
-    }
+  public Quiescence waitUntilQuiescent(long timeoutMs) throws InterruptedException {
+    return awaitParked(REGISTERED, timeoutMs);
+  }
+
+  private Quiescence awaitParked(int parties, long timeoutMs) throws InterruptedException {
+    long start = System.nanoTime();
+    long nanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+    lock.lockInterruptibly();
+    try {
+      try {
+        while (pausedThreads.get() < target(parties) && nanos > 0) {
+          awaitedParties = parties;
+          nanos = quiescent.awaitNanos(nanos);
+        }
+      } finally { awaitedParties = NO_WAITER; }
+      int expected = target(parties);
+      int parked = pausedThreads.get();
+      return new Quiescence(parked >= expected, parked, expected, System.nanoTime() - start);
+    } finally { lock.unlock(); }
+  }
+
+  /** Debe llamarse con el lock tomado. */
+  private int target(int parties) { return parties == REGISTERED ? registeredThreads : parties; }
+
+  /** Debe llamarse con el lock tomado. */
+  private void signalIfQuiescent() {
+    if (awaitedParties != NO_WAITER && pausedThreads.get() >= target(awaitedParties)) quiescent.signalAll();
   }
 }
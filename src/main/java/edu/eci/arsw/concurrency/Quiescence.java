@@ -0,0 +1,23 @@
+package edu.eci.arsw.concurrency;
+
+/**
+ * Resultado de esperar a que los hilos lleguen al checkpoint de pausa.
+ * 
+ * PUNTO 4 y 5 DEL ENUNCIADO: Evidencia de pausa completa.
+ * Indica si la barrera se alcanzó antes del timeout, cuántos hilos quedaron
+ * pausados frente a los esperados y cuánto tardó la espera.
+ * 
+ * @param reached true si todos los hilos esperados quedaron pausados
+ * @param parked hilos pausados al terminar la espera
+ * @param expected hilos que debían pausarse
+ * @param waitedNanos tiempo de espera en nanosegundos
+ */
+public record Quiescence(boolean reached, int parked, int expected, long waitedNanos) {
+
+  /**
+   * Hilos que no alcanzaron el checkpoint antes del timeout.
+   * 
+   * @return expected - parked, o 0 si se alcanzó la barrera
+   */
+  public int stragglers() { return Math.max(0, expected - parked); }
+}
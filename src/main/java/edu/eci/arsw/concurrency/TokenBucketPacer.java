@@ -0,0 +1,49 @@
+package edu.eci.arsw.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Límite de tasa compartido por todos los hilos (token bucket / GCRA).
+ *
+ * En vez de contar tokens, guarda el instante en que queda libre el siguiente
+ * turno: cada pace() reserva con CAS el turno max(siguiente, ahora - ráfaga) y
+ * duerme hasta él. Así la tasa global se respeta sin locks ni hilo de recarga.
+ *
+ * Con una tasa baja y muchos hilos el turno reservado puede quedar lejos; por
+ * eso se duerme en tramos de a lo sumo SLICE_NANOS y, si hay un
+ * PauseController, entre tramos se pasa por su checkpoint: Pause &amp; Check no
+ * espera a que despierten los hilos que están esperando su turno.
+ */
+final class TokenBucketPacer implements Pacer {
+  static final long SLICE_NANOS = 10_000_000L;
+
+  private final long intervalNanos;
+  private final long burstNanos;
+  private final AtomicLong nextSlot = new AtomicLong(System.nanoTime());
+  private final PauseController controller;
+
+  /**
+   * @param controller checkpoint de pausa entre tramos de espera, o null
+   */
+  TokenBucketPacer(double permitsPerSecond, int burst, PauseController controller) {
+    if (permitsPerSecond <= 0) throw new IllegalArgumentException("permitsPerSecond must be > 0");
+    this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+    this.burstNanos = intervalNanos * Math.max(0, burst - 1);
+    this.controller = controller;
+  }
+
+  @Override public void pace() throws InterruptedException {
+    long now = System.nanoTime();
+    long slot;
+    while (true) {
+      long next = nextSlot.get();
+      slot = Math.max(next, now - burstNanos);
+      if (nextSlot.compareAndSet(next, slot + intervalNanos)) break;
+    }
+    for (long wait = slot - now; wait > 0; wait = slot - System.nanoTime()) {
+      Thread.sleep(Duration.ofNanos(Math.min(wait, SLICE_NANOS)));
+      if (controller != null) controller.awaitIfPaused();
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package edu.eci.arsw.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Cuenta sin lock: el saldo es un long volatile que se modifica con CAS.
+ *
+ * tryWithdraw() comprueba los fondos y descuenta en el mismo CAS, así que
+ * ningún retiro concurrente deja el saldo negativo; deposit() es un
+ * getAndAdd. balance() es una lectura volatile (BankAccount.balance() lee sin
+ * barrera y solo es confiable con su lock tomado).
+ */
+public final class AtomicBankAccount implements LockFreeAccount {
+  private final long id;
+  private volatile long balance;
+
+  private static final VarHandle BALANCE;
+  static {
+    try {
+      BALANCE = MethodHandles.lookup().findVarHandle(AtomicBankAccount.class, "balance", long.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  public AtomicBankAccount(long id, long initial) { this.id = id; this.balance = initial; }
+  @Override public long id() { return id; }
+  @Override public long balance() { return balance; }
+
+  @Override public void deposit(long amount) { BALANCE.getAndAdd(this, amount); }
+
+  /**
+   * Descuenta amount si hay fondos, atómicamente.
+   *
+   * @return false (sin cambiar el saldo) si el saldo es menor que amount
+   */
+  @Override public boolean tryWithdraw(long amount) {
+    long current;
+    do {
+      current = balance;
+      if (current < amount) return false;
+    } while (!BALANCE.weakCompareAndSet(this, current, current - amount));
+    return true;
+  }
+}
@@ -0,0 +1,78 @@
+package edu.eci.arsw.core;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+
+/**
+ * Política de espera entre reintentos de transferTryLock: primero gira y
+ * luego se estaciona (spin-then-park).
+ *
+ * Los primeros spins reintentos solo giran con Thread.onSpinWait() (2, 4, 8...
+ * hasta 64 vueltas), por si el lock se libera en microsegundos. Después se
+ * estaciona con LockSupport.parkNanos un tiempo con jitter decorrelacionado:
+ * cada espera es aleatoria entre base y 3 veces la anterior, acotada a cap.
+ * El azar evita que dos transferencias opuestas reintenten siempre al mismo
+ * tiempo (livelock) y el crecimiento exponencial evita despertar cada pocos
+ * microsegundos una cuenta que sigue ocupada.
+ */
+public final class Backoff {
+  /** 4 reintentos girando, luego esperas entre 50µs y 5ms. */
+  public static final Backoff DEFAULT = new Backoff(4, Duration.ofNanos(50_000), Duration.ofMillis(5));
+
+  private final int spins;
+  private final long baseNanos;
+  private final long capNanos;
+
+  /**
+   * @param spins reintentos que solo giran antes de estacionarse
+   * @param base espera mínima al estacionarse
+   * @param cap espera máxima al estacionarse
+   * @throws IllegalArgumentException si spins es negativo, base no es positiva o cap es menor que base
+   */
+  public Backoff(int spins, Duration base, Duration cap) {
+    if (spins < 0) throw new IllegalArgumentException("spins must be >= 0: " + spins);
+    if (base.isNegative() || base.isZero()) throw new IllegalArgumentException("base must be positive: " + base);
+    if (cap.compareTo(base) < 0) throw new IllegalArgumentException("cap must be >= base: " + cap);
+    this.spins = spins;
+    this.baseNanos = base.toNanos();
+    this.capNanos = cap.toNanos();
+  }
+
+  /**
+   * Siguiente espera con jitter decorrelacionado.
+   *
+   * @param previousNanos espera anterior (0 en la primera)
+   * @param random generador
+   * @return espera en nanosegundos, entre base y cap
+   */
+  public long nextSleep(long previousNanos, RandomGenerator random) {
+    long upper = Math.min(capNanos, Math.max(previousNanos, baseNanos) * 3);
+    return upper <= baseNanos ? baseNanos : random.nextLong(baseNanos, upper + 1);
+  }
+
+  /**
+   * Espera antes del reintento retry.
+   *
+   * @param retry número de reintento, desde 1
+   * @param previousNanos espera estacionada anterior (0 si todavía no hubo)
+   * @param remainingNanos tiempo hasta el plazo de la transferencia
+   * @return espera estacionada a usar como previousNanos en el siguiente reintento
+   * @throws InterruptedException si el hilo es interrumpido
+   */
+  long pause(int retry, long previousNanos, long remainingNanos) throws InterruptedException {
+    if (retry <= spins) {
+      for (int i = 1 << Math.min(retry, 6); i > 0; i--) Thread.onSpinWait();
+      return previousNanos;
+    }
+    long sleep = nextSleep(previousNanos, ThreadLocalRandom.current());
+    LockSupport.parkNanos(Math.min(sleep, remainingNanos));
+    if (Thread.interrupted()) throw new InterruptedException("transfer backoff interrupted");
+    return sleep;
+  }
+
+  @Override public String toString() {
+    return "Backoff[spins=" + spins + ", base=" + baseNanos / 1000 + "us, cap=" + capNanos / 1000 + "us]";
+  }
+}
@@ -0,0 +1,69 @@
+package edu.eci.arsw.core;
+
+import edu.eci.arsw.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de contención de transferTryLock, para ajustar su Backoff.
+ *
+ * attempts cuenta cada intento de tomar los dos locks; retries, los intentos
+ * fallidos tras los que se esperó; timeouts, las transferencias que vencieron
+ * su plazo. La espera (tiempo en Backoff, sin contar la transferencia) se
+ * acumula en waitNanos() y por transferencia en un LatencyHistogram.
+ */
+public final class ContentionMetrics {
+  private final LongAdder transfers = new LongAdder();
+  private final LongAdder attempts = new LongAdder();
+  private final LongAdder retries = new LongAdder();
+  private final LongAdder timeouts = new LongAdder();
+  private final LongAdder waitNanos = new LongAdder();
+  private final LatencyHistogram waitPerTransfer = new LatencyHistogram();
+
+  /** Transferencia que tomó ambos locks tras attempts intentos. */
+  void acquired(int attempts, long waitedNanos) {
+    transfers.increment();
+    record(attempts, waitedNanos);
+  }
+
+  /** Transferencia que venció su plazo tras attempts intentos. */
+  void timedOut(int attempts, long waitedNanos) {
+    timeouts.increment();
+    record(attempts, waitedNanos);
+  }
+
+  private void record(int attempts, long waitedNanos) {
+    this.attempts.add(attempts);
+    retries.add(attempts - 1);
+    waitNanos.add(waitedNanos);
+    waitPerTransfer.record(waitedNanos);
+  }
+
+  /** Transferencias que tomaron ambos locks. */
+  public long transfers() { return transfers.sum(); }
+
+  /** Intentos de tomar los dos locks. */
+  public long attempts() { return attempts.sum(); }
+
+  /** Intentos fallidos seguidos de una espera. */
+  public long retries() { return retries.sum(); }
+
+  /** Transferencias que vencieron su plazo. */
+  public long timeouts() { return timeouts.sum(); }
+
+  /** Nanosegundos esperando en Backoff, sumados entre transferencias. */
+  public long waitNanos() { return waitNanos.sum(); }
+
+  /**
+   * Percentil de la espera por transferencia (incluye las vencidas).
+   *
+   * @param p percentil entre 0 y 100
+   * @return espera en nanosegundos
+   */
+  public long waitPercentile(double p) { return waitPerTransfer.percentile(p); }
+
+  @Override public String toString() {
+    return String.format("transfers=%d attempts=%d retries=%d timeouts=%d wait=%.3fms p50=%dns p99=%dns",
+      transfers(), attempts(), retries(), timeouts(), waitNanos() / 1e6, waitPercentile(50), waitPercentile(99));
+  }
+}
@@ -0,0 +1,19 @@
+package edu.eci.arsw.core;
+
+/** Cuándo una operación de TransferLedger se considera confirmada. */
+public enum Durability {
+  /**
+   * Al escribir el registro en el archivo mapeado: sobrevive a la caída del
+   * proceso (el sistema operativo conserva las páginas) pero no a la del
+   * sistema operativo ni a un corte de energía.
+   */
+  NONE,
+  /**
+   * Después de un force() que cubre el registro, compartido entre todas las
+   * operaciones que esperaban (group commit): un hilo fuerza y los demás
+   * esperan ese mismo force().
+   */
+  GROUP,
+  /** Después de un force() propio por cada operación. */
+  SYNC
+}
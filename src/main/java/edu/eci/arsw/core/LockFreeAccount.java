@@ -0,0 +1,18 @@
+package edu.eci.arsw.core;
+
+/** Cuenta cuyo saldo se modifica sin locks, para TransferService.transferLockFree(). */
+public interface LockFreeAccount {
+  long id();
+
+  /** Saldo actual; con operaciones concurrentes puede no incluir montos en tránsito. */
+  long balance();
+
+  void deposit(long amount);
+
+  /**
+   * Descuenta amount si hay fondos, sin dejar nunca el saldo negativo.
+   *
+   * @return false (sin cambiar el saldo) si no se pudo retirar amount
+   */
+  boolean tryWithdraw(long amount);
+}
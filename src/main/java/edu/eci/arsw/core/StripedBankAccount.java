@@ -0,0 +1,99 @@
+package edu.eci.arsw.core;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cuenta "caliente" con el saldo repartido en K franjas (stripes), cada una
+ * una celda CAS en su propia línea de caché.
+ *
+ * Con una sola celda (AtomicBankAccount) o un solo lock (BankAccount) todas
+ * las transferencias que tocan la cuenta compiten por la misma línea; aquí
+ * cada depósito va a una franja al azar y cada retiro empieza por una franja
+ * al azar, así que en varios núcleos las operaciones sobre la misma cuenta
+ * casi no chocan (la idea de LongAdder, pero con retiros).
+ *
+ * Un retiro que no alcanza con su franja toma prestado de las demás: retira
+ * lo que haya en cada una hasta completar el monto; si entre todas no
+ * alcanza, devuelve lo tomado y falla. Nunca queda una franja negativa, pero
+ * con retiros concurrentes sobre una cuenta casi vacía uno puede fallar aunque
+ * el total alcanzara (el préstamo de otro retiro estaba en tránsito).
+ *
+ * balance() suma las franjas: es exacto sin operaciones en curso y, con
+ * retiros concurrentes, puede no incluir montos en préstamo.
+ */
+public final class StripedBankAccount implements LockFreeAccount {
+  /** Separación entre celdas (8 longs = 64 bytes) para que cada franja tenga su línea de caché. */
+  private static final int PAD = 8;
+
+  private final long id;
+  private final int stripes;
+  private final AtomicLongArray cells;
+
+  /**
+   * @param id id de la cuenta
+   * @param initial saldo inicial, repartido en partes iguales
+   * @param stripes número de franjas K
+   * @throws IllegalArgumentException si stripes no es positivo o initial es negativo
+   */
+  public StripedBankAccount(long id, long initial, int stripes) {
+    if (stripes <= 0) throw new IllegalArgumentException("stripes must be positive: " + stripes);
+    if (initial < 0) throw new IllegalArgumentException("initial balance must be >= 0: " + initial);
+    this.id = id;
+    this.stripes = stripes;
+    this.cells = new AtomicLongArray(stripes * PAD);
+    for (int i = 0; i < stripes; i++) cells.set(i * PAD, initial / stripes + (i < initial % stripes ? 1 : 0));
+  }
+
+  @Override public long id() { return id; }
+
+  public int stripes() { return stripes; }
+
+  /**
+   * Saldo de una franja.
+   *
+   * @param stripe franja entre 0 y stripes() - 1
+   * @return saldo de la franja
+   */
+  public long stripeBalance(int stripe) { return cells.get(index(stripe)); }
+
+  @Override public long balance() {
+    long sum = 0;
+    for (int i = 0; i < stripes; i++) sum += cells.get(i * PAD);
+    return sum;
+  }
+
+  @Override public void deposit(long amount) { cells.getAndAdd(index(home()), amount); }
+
+  @Override public boolean tryWithdraw(long amount) {
+    int first = home();
+    if (take(first, amount, false) == amount) return true;
+    long taken = 0;
+    for (int k = 0; k < stripes && taken < amount; k++) taken += take((first + k) % stripes, amount - taken, true);
+    if (taken == amount) return true;
+    if (taken > 0) cells.getAndAdd(index(first), taken);
+    return false;
+  }
+
+  /**
+   * Retira de una franja con CAS.
+   *
+   * @param partial true para retirar lo que haya (hasta amount), false para todo o nada
+   * @return monto retirado
+   */
+  private long take(int stripe, long amount, boolean partial) {
+    int i = index(stripe);
+    long current;
+    long taken;
+    do {
+      current = cells.get(i);
+      taken = Math.min(current, amount);
+      if (taken <= 0 || (!partial && taken < amount)) return 0;
+    } while (!cells.weakCompareAndSetVolatile(i, current, current - taken));
+    return taken;
+  }
+
+  private int home() { return stripes == 1 ? 0 : ThreadLocalRandom.current().nextInt(stripes); }
+
+  private int index(int stripe) { return stripe * PAD; }
+}
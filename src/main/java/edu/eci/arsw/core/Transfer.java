@@ -0,0 +1,10 @@
+package edu.eci.arsw.core;
+
+import java.util.Objects;
+
+/** Una transferencia de un lote de TransferService.transferBatch(). */
+public record Transfer(BankAccount from, BankAccount to, long amount) {
+  public Transfer {
+    Objects.requireNonNull(from); Objects.requireNonNull(to);
+  }
+}
@@ -0,0 +1,261 @@
+package edu.eci.arsw.core;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Bitácora de escritura anticipada (write-ahead) para las cuentas de
+ * TransferService, sobre un archivo mapeado en memoria y de solo agregado.
+ *
+ * Cada apertura de cuenta y cada transferencia se agrega como un registro de
+ * RECORD_BYTES (int tipo, int CRC32C, long id, long id destino, long monto;
+ * una apertura lleva el saldo inicial como monto) antes de cambiar los saldos
+ * (TransferService.transferLogged). Al abrir un archivo existente se recorren
+ * los registros en orden y se reconstruyen las cuentas (recoveredAccounts());
+ * el recorrido se detiene en el primer registro vacío o con CRC inválido (una
+ * escritura a medias de una caída). El CRC cubre también la posición del
+ * registro, y todo lo que queda después del último registro válido se borra
+ * y se fuerza antes de aceptar registros nuevos: así un registro viejo que
+ * quedó detrás de un hueco no puede reaparecer en una recuperación posterior.
+ *
+ * Con Durability.GROUP el force() del archivo se comparte: el primer hilo que
+ * espera confirmación fuerza todo lo escrito hasta ese momento y los que
+ * agregaron registros mientras tanto esperan al siguiente force(), que cubre
+ * a todos. Así hay muchas menos llamadas a force() que registros (forces()).
+ * La espera usa ReentrantLock/Condition y no un monitor, para no fijar hilos
+ * virtuales a su carrier durante el force().
+ */
+public final class TransferLedger implements AutoCloseable {
+  public static final int RECORD_BYTES = 32;
+  private static final int OPEN = 1;
+  private static final int TRANSFER = 2;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer journal;
+  private final Durability durability;
+  private final Map<Long, BankAccount> recovered;
+  private final Set<Long> ids = ConcurrentHashMap.newKeySet();
+  private final boolean tornTail;
+  private final ReentrantLock appendLock = new ReentrantLock();
+  private final LongAdder records = new LongAdder();
+  private final LongAdder forces = new LongAdder();
+  /** Fin de lo escrito; solo cambia con appendLock. */
+  private volatile int end;
+  /** Group commit: fin de lo confirmado por force() y si hay un force() en curso, protegidos por syncLock. */
+  private final ReentrantLock syncLock = new ReentrantLock();
+  private final Condition forced = syncLock.newCondition();
+  private int durable;
+  private boolean forcing;
+
+  private TransferLedger(FileChannel channel, MappedByteBuffer journal, Durability durability) {
+    this.channel = channel;
+    this.journal = journal;
+    this.durability = durability;
+    Map<Long, BankAccount> accounts = new LinkedHashMap<>();
+    int pos = 0;
+    while (pos + RECORD_BYTES <= journal.capacity() && valid(pos)) {
+      long a = journal.getLong(pos + 8);
+      long b = journal.getLong(pos + 16);
+      long amount = journal.getLong(pos + 24);
+      if (journal.getInt(pos) == OPEN) {
+        accounts.put(a, new BankAccount(a, amount));
+      } else {
+        BankAccount from = accounts.get(a);
+        BankAccount to = accounts.get(b);
+        if (from == null || to == null) throw new IllegalStateException("journal transfer at " + pos + " names an unknown account");
+        from.withdrawInternal(amount); to.depositInternal(amount);
+      }
+      pos += RECORD_BYTES;
+    }
+    this.tornTail = clearTail(pos);
+    this.end = pos;
+    this.durable = pos;
+    this.recovered = Collections.unmodifiableMap(accounts);
+    ids.addAll(accounts.keySet());
+  }
+
+  /**
+   * Abre (o crea) la bitácora y reconstruye las cuentas que registra.
+   *
+   * @param file archivo de la bitácora
+   * @param maxRecords registros que caben; un archivo existente más grande conserva su tamaño
+   * @param durability cuándo se confirma cada operación
+   * @return bitácora lista para agregar después del último registro válido
+   * @throws IOException si no se puede abrir o mapear el archivo
+   * @throws IllegalStateException si una transferencia registrada nombra una cuenta no abierta
+   */
+  public static TransferLedger open(Path file, int maxRecords, Durability durability) throws IOException {
+    if (maxRecords <= 0 || maxRecords > Integer.MAX_VALUE / RECORD_BYTES) throw new IllegalArgumentException("maxRecords out of range: " + maxRecords);
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      long size = Math.max(channel.size(), (long) maxRecords * RECORD_BYTES);
+      return new TransferLedger(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size), durability);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Cuentas reconstruidas al abrir, con el saldo que dejan los registros.
+   *
+   * @return cuentas por id, en orden de apertura
+   */
+  public Map<Long, BankAccount> recoveredAccounts() { return recovered; }
+
+  /** Si al abrir había datos (descartados) después del último registro válido: una escritura a medias o registros tras un hueco. */
+  public boolean tornTail() { return tornTail; }
+
+  public Durability durability() { return durability; }
+
+  /** Registros agregados desde que se abrió. */
+  public long records() { return records.sum(); }
+
+  /** Llamadas a force() para confirmar registros desde que se abrió (sin contar el borrado de la cola al abrir). */
+  public long forces() { return forces.sum(); }
+
+  /**
+   * Registra la apertura de una cuenta y espera su confirmación.
+   *
+   * @return la cuenta nueva
+   * @throws IllegalArgumentException si el id ya está registrado
+   * @throws IllegalStateException si la bitácora está llena
+   */
+  public BankAccount openAccount(long id, long initial) {
+    if (!ids.add(id)) throw new IllegalArgumentException("account already in the ledger: " + id);
+    long end;
+    try {
+      end = append(OPEN, id, 0, initial);
+    } catch (IllegalStateException e) {
+      ids.remove(id);
+      throw e;
+    }
+    awaitDurable(end);
+    return new BankAccount(id, initial);
+  }
+
+  /**
+   * Agrega un registro de transferencia; con SYNC también lo fuerza.
+   *
+   * Solo acepta cuentas abiertas en esta bitácora: una transferencia con otra
+   * cuenta haría fallar toda recuperación posterior.
+   *
+   * @return fin del registro, para awaitDurable()
+   * @throws IllegalArgumentException si alguna cuenta no fue abierta en esta bitácora (no se escribe nada)
+   * @throws IllegalStateException si la bitácora está llena
+   */
+  long appendTransfer(BankAccount from, BankAccount to, long amount) {
+    if (!ids.contains(from.id())) throw new IllegalArgumentException("account not in the ledger: " + from.id());
+    if (!ids.contains(to.id())) throw new IllegalArgumentException("account not in the ledger: " + to.id());
+    return append(TRANSFER, from.id(), to.id(), amount);
+  }
+
+  private long append(int type, long a, long b, long amount) {
+    appendLock.lock();
+    try {
+      int pos = end;
+      if (pos + RECORD_BYTES > journal.capacity()) throw new IllegalStateException("ledger full (" + journal.capacity() / RECORD_BYTES + " records)");
+      journal.putLong(pos + 8, a);
+      journal.putLong(pos + 16, b);
+      journal.putLong(pos + 24, amount);
+      journal.putInt(pos + 4, checksum(type, pos));
+      journal.putInt(pos, type);
+      end = pos + RECORD_BYTES;
+      records.increment();
+      if (durability == Durability.SYNC) {
+        journal.force(pos, RECORD_BYTES);
+        forces.increment();
+      }
+      return end;
+    } finally {
+      appendLock.unlock();
+    }
+  }
+
+  /**
+   * Espera a que todo hasta upTo esté confirmado según la durabilidad.
+   * Con GROUP, si nadie está forzando, este hilo fuerza todo lo escrito hasta
+   * ahora (sin tener ningún lock mientras tanto); si no, espera ese force().
+   */
+  void awaitDurable(long upTo) {
+    if (durability != Durability.GROUP) return;
+    syncLock.lock();
+    try {
+      while (durable < upTo) {
+        if (forcing) {
+          forced.awaitUninterruptibly();
+          continue;
+        }
+        forcing = true;
+        int from = durable;
+        int to = end;
+        boolean done = false;
+        syncLock.unlock();
+        try {
+          journal.force(from, to - from);
+          forces.increment();
+          done = true;
+        } finally {
+          syncLock.lock();
+          forcing = false;
+          if (done) durable = to;
+          forced.signalAll();
+        }
+      }
+    } finally {
+      syncLock.unlock();
+    }
+  }
+
+  /**
+   * Pone en cero desde from hasta el último registro que cabe en el archivo y
+   * fuerza lo que cambió, antes de que se agregue algo en from.
+   *
+   * @return si había algún byte distinto de cero
+   */
+  private boolean clearTail(int from) {
+    int limit = journal.capacity() / RECORD_BYTES * RECORD_BYTES;
+    int first = -1;
+    int last = -1;
+    for (int p = from; p < limit; p += Long.BYTES) {
+      if (journal.getLong(p) == 0) continue;
+      journal.putLong(p, 0);
+      if (first < 0) first = p;
+      last = p + Long.BYTES;
+    }
+    if (first < 0) return false;
+    journal.force(first, last - first);
+    return true;
+  }
+
+  private boolean valid(int pos) {
+    int type = journal.getInt(pos);
+    return (type == OPEN || type == TRANSFER) && journal.getInt(pos + 4) == checksum(type, pos);
+  }
+
+  private int checksum(int type, int pos) {
+    CRC32C crc = new CRC32C();
+    crc.update(type);
+    for (int shift = 0; shift < Integer.SIZE; shift += Byte.SIZE) crc.update(pos >>> shift);
+    crc.update(journal.slice(pos + 8, RECORD_BYTES - 8));
+    return (int) crc.getValue();
+  }
+
+  /** Fuerza lo escrito y cierra el archivo. */
+  @Override public void close() throws IOException {
+    journal.force();
+    channel.close();
+  }
+}
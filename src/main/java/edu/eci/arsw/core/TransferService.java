@@ -1,9 +1,13 @@
 package edu.eci.arsw.core;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
 
 public final class TransferService {
@@ -30,21 +34,136 @@ public final class TransferService {
     } finally { first.lock().unlock(); }
   }
   public static void transferTryLock(BankAccount from, BankAccount to, long amount, Duration maxWait) throws InterruptedException {
+    transferTryLock(from, to, amount, maxWait, Backoff.DEFAULT, null);
+  }
+  /**
+   * Toma ambos locks con tryLock() sin orden y, si alguno está ocupado, suelta
+   * lo tomado y espera según backoff antes de reintentar (sin deadlock: nunca
+   * se espera con un lock tomado).
+   *
+   * @param metrics contadores de contención, o null
+   * @throws InterruptedException si vence maxWait o el hilo es interrumpido
+   */
+  public static void transferTryLock(BankAccount from, BankAccount to, long amount, Duration maxWait,
+                                     Backoff backoff, ContentionMetrics metrics) throws InterruptedException {
     Objects.requireNonNull(from); Objects.requireNonNull(to);
     ReentrantLock a = from.lock(); ReentrantLock b = to.lock();
     long deadline = System.nanoTime() + maxWait.toNanos();
-    while (System.nanoTime() < deadline) {
-      if (a.tryLock(10, TimeUnit.MILLISECONDS)) {
+    long sleep = 0;
+    long waited = 0;
+    for (int attempt = 1; ; attempt++) {
+      if (a.tryLock()) {
         try {
-          if (b.tryLock(10, TimeUnit.MILLISECONDS)) {
-            try { withdrawDeposit(from, to, amount); return; }
+          if (b.tryLock()) {
+            try {
+              if (metrics != null) metrics.acquired(attempt, waited);
+              withdrawDeposit(from, to, amount);
+              return;
+            }
             finally { b.unlock(); }
           }
         } finally { a.unlock(); }
       }
-      Thread.sleep(ThreadLocalRandom.current().nextInt(1, 5));
+      long now = System.nanoTime();
+      if (now >= deadline) {
+        if (metrics != null) metrics.timedOut(attempt, waited);
+        throw new InterruptedException("transferTryLock timed out");
+      }
+      sleep = backoff.pause(attempt, sleep, deadline - now);
+      waited += System.nanoTime() - now;
     }
-    throw new InterruptedException("transferTryLock timed out");
+  }
+  /**
+   * Como transferOrdered, pero agrega la transferencia a ledger antes de
+   * aplicarla y retorna cuando está confirmada según ledger.durability().
+   * Los locks se sueltan antes de esperar el force(), así que con GROUP otras
+   * transferencias se agregan mientras tanto y entran en el mismo force().
+   * Como el registro se agrega con los locks de ambas cuentas tomados, la
+   * bitácora tiene las transferencias de cada cuenta en el orden en que se
+   * aplicaron y la recuperación reproduce los saldos.
+   *
+   * @throws IllegalArgumentException si from no tiene fondos o alguna cuenta no
+   *         fue abierta en ledger (no se registra ni se aplica nada)
+   * @throws IllegalStateException si la bitácora está llena (no se aplica nada)
+   */
+  public static void transferLogged(TransferLedger ledger, BankAccount from, BankAccount to, long amount) {
+    Objects.requireNonNull(from); Objects.requireNonNull(to);
+    BankAccount first = from.id() < to.id() ? from : to;
+    BankAccount second = from.id() < to.id() ? to : from;
+    long end;
+    first.lock().lock();
+    try {
+      second.lock().lock();
+      try {
+        if (from.balance() < amount) throw new IllegalArgumentException("Insufficient funds");
+        end = ledger.appendTransfer(from, to, amount);
+        from.withdrawInternal(amount); to.depositInternal(amount);
+      }
+      finally { second.lock().unlock(); }
+    } finally { first.lock().unlock(); }
+    ledger.awaitDurable(end);
+  }
+  /**
+   * Transferencia sin locks entre cuentas LockFreeAccount (AtomicBankAccount
+   * o StripedBankAccount): retira con CAS (fondos comprobados en el mismo
+   * CAS) y luego deposita. No hay deadlock ni
+   * espera, pero entre el retiro y el depósito el monto no está en ninguna de
+   * las dos cuentas: una suma de saldos concurrente puede verlo en tránsito.
+   *
+   * @throws IllegalArgumentException si from no tiene fondos (ningún saldo cambia)
+   */
+  public static void transferLockFree(LockFreeAccount from, LockFreeAccount to, long amount) {
+    Objects.requireNonNull(from); Objects.requireNonNull(to);
+    if (!from.tryWithdraw(amount)) throw new IllegalArgumentException("Insufficient funds");
+    to.deposit(amount);
+  }
+  /**
+   * Aplica un lote todo o nada: con fondos insuficientes en cualquier
+   * transferencia deshace las ya aplicadas y no cambia ningún saldo.
+   *
+   * @throws IllegalArgumentException si alguna transferencia no tiene fondos
+   */
+  public static void transferBatch(List<Transfer> batch) { transferBatch(batch, true); }
+
+  /**
+   * Aplica un lote tomando el lock de cada cuenta distinta una sola vez, en
+   * orden de id (el mismo orden total de transferOrdered, así que no hay
+   * deadlock con otros lotes ni con transferOrdered), en vez de dos locks por
+   * transferencia. Las transferencias se aplican en el orden del lote.
+   *
+   * @param atomic true para todo o nada; false para aplicar las que tengan fondos y saltar el resto
+   * @return por posición, si la transferencia se aplicó
+   * @throws IllegalArgumentException si atomic y alguna transferencia no tiene fondos
+   */
+  public static boolean[] transferBatch(List<Transfer> batch, boolean atomic) {
+    BankAccount[] accounts = distinctAccountsById(batch);
+    for (BankAccount acc : accounts) acc.lock().lock();
+    try {
+      boolean[] applied = new boolean[batch.size()];
+      for (int i = 0; i < applied.length; i++) {
+        Transfer t = batch.get(i);
+        if (t.from().balance() >= t.amount()) {
+          t.from().withdrawInternal(t.amount()); t.to().depositInternal(t.amount());
+          applied[i] = true;
+        } else if (atomic) {
+          for (int j = i - 1; j >= 0; j--) {
+            Transfer u = batch.get(j);
+            u.to().withdrawInternal(u.amount()); u.from().depositInternal(u.amount());
+          }
+          throw new IllegalArgumentException("Insufficient funds in transfer " + i + " of the batch");
+        }
+      }
+      return applied;
+    } finally {
+      for (int i = accounts.length - 1; i >= 0; i--) accounts[i].lock().unlock();
+    }
+  }
+  private static BankAccount[] distinctAccountsById(List<Transfer> batch) {
+    Set<BankAccount> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Transfer t : batch) { distinct.add(t.from()); distinct.add(t.to()); }
+    BankAccount[] accounts = distinct.toArray(new BankAccount[0]);
+    Arrays.sort(accounts, Comparator.comparingLong(BankAccount::id));
+    return accounts;
   }
   private static void withdrawDeposit(BankAccount from, BankAccount to, long amount) {
     if (from.balance() < amount) throw new IllegalArgumentException("Insufficient funds");
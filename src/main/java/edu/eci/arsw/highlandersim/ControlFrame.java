@@ -1,7 +1,9 @@
 package edu.eci.arsw.highlandersim;
 
+import edu.eci.arsw.concurrency.Quiescence;
 import edu.eci.arsw.immortals.Immortal;
 import edu.eci.arsw.immortals.ImmortalManager;
+import edu.eci.arsw.immortals.ScoreBoard;
 
 import javax.swing.*;
 import java.awt.*;
@@ -20,7 +22,7 @@ public final class ControlFrame extends JFrame {
   private final JSpinner countSpinner = new JSpinner(new SpinnerNumberModel(8, 2, 5000, 1));
   private final JSpinner healthSpinner = new JSpinner(new SpinnerNumberModel(100, 10, 10000, 10));
   private final JSpinner damageSpinner = new JSpinner(new SpinnerNumberModel(10, 1, 1000, 1));
-  private final JComboBox<String> fightMode = new JComboBox<>(new String[]{"ordered", "naive"});
+  private final JComboBox<String> fightMode = new JComboBox<>(new String[]{"ordered", "naive", "stamped", "trylock", "lockfree", "packed", "unsafe", "actor"});
 
   public ControlFrame(int count, String fight) {
     setTitle("Highlander Simulator — ARSW");
@@ -81,6 +83,7 @@ public final class ControlFrame extends JFrame {
    * Flujo:
    * 1. Solicita pausa (marca bandera)
    * 2. Espera confirmación de que todos los hilos están en await()
+   *    (barrera de quiescencia: despierta cuando llega el último hilo)
    * 3. Lee estado de todos los inmortales (snapshot atómico)
    * 4. Calcula y muestra estadísticas
    * 
@@ -96,39 +99,30 @@ public final class ControlFrame extends JFrame {
     if (manager == null) return;
     manager.pause();
     
+    Quiescence quiescence = null;
     try {
-      int aliveCount = manager.aliveCount();
-      manager.controller().waitUntilPaused(aliveCount, 500);
+      quiescence = manager.awaitPaused(500);
     } catch (InterruptedException ex) {
       Thread.currentThread().interrupt();
     }
     
     List<Immortal> pop = manager.populationSnapshot();
-    long sum = 0;
+    long sum = manager.totalHealth();
     int alive = 0;
     int dead = 0;
     StringBuilder sb = new StringBuilder();
     
     for (Immortal im : pop) {
-      int h = im.getHealth();
-      sum += h;
-      if (h > 0) alive++;
+      if (im.getHealth() > 0) alive++;
       else dead++;
     }
     
     if (pop.size() <= 100) {
-      for (Immortal im : pop) {
-        int h = im.getHealth();
-        sb.append(String.format("%-14s : %5d%n", im.getName(), h));
-      }
+      for (Immortal im : pop) appendImmortal(sb, im);
     } else {
       sb.append("Showing summary for ").append(pop.size()).append(" immortals\n");
       sb.append("(First 50 shown)\n\n");
-      for (int i = 0; i < Math.min(50, pop.size()); i++) {
-        Immortal im = pop.get(i);
-        int h = im.getHealth();
-        sb.append(String.format("%-14s : %5d%n", im.getName(), h));
-      }
+      for (int i = 0; i < Math.min(50, pop.size()); i++) appendImmortal(sb, pop.get(i));
       if (pop.size() > 50) {
         sb.append("... (" + (pop.size() - 50) + " more)\n");
       }
@@ -139,9 +133,25 @@ public final class ControlFrame extends JFrame {
     sb.append("Total Health: ").append(sum).append('\n');
     sb.append("Score (fights): ").append(manager.scoreBoard().totalFights()).append('\n');
     sb.append("Paused threads: ").append(manager.controller().getPausedThreadCount()).append('\n');
+    if (quiescence != null) {
+      sb.append(String.format("Pause reached: %s in %.3f ms%n", quiescence.reached(), quiescence.waitedNanos() / 1e6));
+      if (!quiescence.reached()) {
+        sb.append("WARNING: ").append(quiescence.stragglers()).append(" threads still running, snapshot may be inconsistent\n");
+      }
+    }
     output.setText(sb.toString());
   }
 
+  private void appendImmortal(StringBuilder sb, Immortal im) {
+    sb.append(String.format("%-14s : %5d", im.getName(), im.getHealth()));
+    ScoreBoard score = manager.scoreBoard();
+    if (score.tracksPerImmortal()) {
+      ScoreBoard.Stats st = score.statsOf(im);
+      sb.append(String.format("  W:%d L:%d K:%d", st.wins(), st.losses(), st.kills()));
+    }
+    sb.append('\n');
+  }
+
   private void onResume(ActionEvent e) {
     if (manager == null) return;
     manager.resume();
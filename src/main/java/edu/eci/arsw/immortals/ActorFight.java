@@ -0,0 +1,59 @@
+package edu.eci.arsw.immortals;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pelea por mensajes: cada inmortal es dueño exclusivo de su salud.
+ *
+ * PUNTO 6 y 8 DEL ENUNCIADO: Alternativa sin regiones críticas. Atacar no
+ * toca la salud de nadie: el atacante deja su ataque en el Mailbox acotado
+ * del defensor. Cada inmortal, al empezar su paso, procesa en lote lo que
+ * recibió (Immortal.receive()): descuenta el daño de cada ataque si sigue
+ * vivo y le devuelve al atacante un crédito por el mismo daño, que el
+ * atacante suma en su propio paso. No hay locks ni monitores, así que no hay
+ * deadlock ni hilos virtuales fijados; con el buzón del defensor lleno el
+ * ataque se rechaza (contrapresión, ver rejected()) y el atacante cede el
+ * procesador para que el dueño del buzón lo vacíe: con hilos virtuales y
+ * pacing "none" nadie más correría en ese carrier.
+ *
+ * Entre el descuento y el crédito el daño está en tránsito; como ambos
+ * ocurren dentro de un paso de su dueño, en un checkpoint de pausa la suma de
+ * salud más los créditos pendientes (ImmortalManager.totalHealth()) es N * H.
+ *
+ * Se selecciona con "actor" (buzones de DEFAULT_CAPACITY) o "actor:N".
+ */
+final class ActorFight implements FightStrategy {
+  static final int DEFAULT_CAPACITY = 64;
+
+  private final int capacity;
+  private final LongAdder rejected = new LongAdder();
+
+  /**
+   * @param capacity ataques que caben en el buzón de cada inmortal
+   * @throws IllegalArgumentException si capacity no es positiva
+   */
+  ActorFight(int capacity) {
+    if (capacity <= 0) throw new IllegalArgumentException("mailbox capacity must be positive: " + capacity);
+    this.capacity = capacity;
+  }
+
+  int capacity() { return capacity; }
+
+  /**
+   * Ataques rechazados porque el buzón del defensor estaba lleno.
+   *
+   * @return total de rechazos
+   */
+  long rejected() { return rejected.sum(); }
+
+  @Override public void fight(Immortal attacker, Immortal defender) {
+    attacker.receive();
+    if (attacker.getHealth() <= 0) return;
+    if (!defender.mailbox().offer(attacker)) {
+      rejected.increment();
+      Thread.yield();
+    }
+  }
+
+  @Override public String name() { return "actor"; }
+}
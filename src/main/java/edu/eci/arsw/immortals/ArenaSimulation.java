@@ -0,0 +1,55 @@
+package edu.eci.arsw.immortals;
+
+import edu.eci.arsw.concurrency.Quiescence;
+
+/**
+ * Simulación de inmortales como ids, sin un objeto Immortal por inmortal.
+ *
+ * La implementan OffHeapArena (toda la población compartida, peleas con CAS)
+ * y ShardedArena (población repartida en shards con dueño). ArenaRunner
+ * (-Dmode=arena) maneja ambas con el mismo Pause &amp; Check.
+ */
+public interface ArenaSimulation extends AutoCloseable {
+
+  /** Lanza los workers; si ya hay una simulación en curso, la detiene antes. */
+  void start();
+
+  void pause();
+
+  void resume();
+
+  /**
+   * Espera a que todos los workers queden pausados.
+   *
+   * @param timeoutMs tiempo máximo de espera en milisegundos
+   * @return resultado de la barrera de quiescencia
+   * @throws InterruptedException si el hilo es interrumpido durante la espera
+   */
+  Quiescence awaitPaused(long timeoutMs) throws InterruptedException;
+
+  /** Detiene los workers y espera a que terminen. */
+  void stop();
+
+  long totalFights();
+
+  /**
+   * Suma de la salud de toda la población.
+   *
+   * PUNTO 1 DEL ENUNCIADO: con los workers pausados o detenidos debe ser
+   * expectedTotalHealth().
+   *
+   * @return suma de la salud
+   */
+  long totalHealth();
+
+  /**
+   * Valor esperado del invariante: N * H.
+   *
+   * @return suma de la salud inicial
+   */
+  long expectedTotalHealth();
+
+  int aliveCount();
+
+  @Override void close();
+}
@@ -0,0 +1,32 @@
+package edu.eci.arsw.immortals;
+
+import java.util.Locale;
+
+/**
+ * Modelo de ejecución de la simulación (-Dexecution).
+ *
+ * THREADS es el modelo del enunciado: un hilo virtual por inmortal, que elige
+ * oponente y pelea sincronizando con la FightStrategy. ROUNDS genera en cada
+ * ronda un emparejamiento aleatorio de los vivos (parejas disjuntas) y ejecuta
+ * las peleas en paralelo sobre un ForkJoinPool sin locks por inmortal: dos
+ * parejas disjuntas no comparten estado, así que no pueden entrar en conflicto.
+ */
+public enum ExecutionMode {
+  THREADS,
+  ROUNDS;
+
+  /**
+   * Resuelve un modo por nombre.
+   *
+   * @param name "threads" o "rounds" (sin distinguir mayúsculas)
+   * @return el modo correspondiente
+   * @throws IllegalArgumentException si el nombre no corresponde a ningún modo
+   */
+  public static ExecutionMode forName(String name) {
+    return switch (name.toLowerCase(Locale.ROOT)) {
+      case "threads" -> THREADS;
+      case "rounds" -> ROUNDS;
+      default -> throw new IllegalArgumentException("Unknown execution mode: " + name + " (use threads|rounds)");
+    };
+  }
+}
@@ -0,0 +1,66 @@
+package edu.eci.arsw.immortals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bitácora de peleas aplicadas, en el orden en que ocurrieron.
+ *
+ * Cada entrada empaqueta (id atacante, id defensor) en un long de un arreglo
+ * de capacidad fija, sin asignar objetos por pelea. La posición se reserva con
+ * un contador atómico DENTRO de la región crítica de la pelea (con ambos locks
+ * tomados en naive, ordered y trylock), así que dos peleas que comparten un
+ * inmortal quedan en la bitácora en el mismo orden en que se aplicaron: la
+ * bitácora es una serialización válida de la corrida concurrente y
+ * FightReplay puede repetirla en un solo hilo. En lockfree y packed la
+ * posición se tomaría fuera de la actualización atómica de ambos (no la hay),
+ * así que el orden no sería una serialización válida y el oráculo podría
+ * reportar diferencias en una corrida correcta: ImmortalManager rechaza la
+ * bitácora con esas estrategias y con actor.
+ *
+ * Al llenarse deja de registrar y marca truncated(). Debe leerse con la
+ * simulación detenida o pausada.
+ */
+public final class FightLog {
+  private final AtomicLongArray entries;
+  private final AtomicInteger next = new AtomicInteger();
+
+  /**
+   * @param capacity máximo de peleas a registrar
+   * @throws IllegalArgumentException si capacity no es positiva
+   */
+  public FightLog(int capacity) {
+    if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+    this.entries = new AtomicLongArray(capacity);
+  }
+
+  /**
+   * Registra una pelea aplicada.
+   *
+   * @param attacker id del atacante
+   * @param defender id del defensor
+   */
+  public void record(int attacker, int defender) {
+    if (next.get() >= entries.length()) { next.set(entries.length() + 1); return; }
+    int i = next.getAndIncrement();
+    if (i < entries.length()) entries.set(i, ((long) attacker << 32) | (defender & 0xFFFF_FFFFL));
+  }
+
+  /**
+   * Número de peleas registradas.
+   *
+   * @return entradas válidas (como máximo la capacidad)
+   */
+  public int size() { return Math.min(next.get(), entries.length()); }
+
+  /**
+   * Indica si hubo peleas que no cupieron en la bitácora.
+   *
+   * @return true si se alcanzó la capacidad y se descartaron peleas
+   */
+  public boolean truncated() { return next.get() > entries.length(); }
+
+  public int attacker(int index) { return (int) (entries.get(index) >>> 32); }
+
+  public int defender(int index) { return (int) entries.get(index); }
+}
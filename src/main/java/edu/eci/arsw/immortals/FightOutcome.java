@@ -0,0 +1,13 @@
+package edu.eci.arsw.immortals;
+
+/**
+ * Resultado de aplicar una pelea entre dos inmortales.
+ */
+enum FightOutcome {
+  /** No hubo pelea: alguno de los dos ya estaba muerto. */
+  SKIPPED,
+  /** El atacante le quitó salud al oponente. */
+  HIT,
+  /** El oponente quedó con salud &lt;= 0. */
+  KILL
+}
@@ -0,0 +1,83 @@
+package edu.eci.arsw.immortals;
+
+import java.util.Arrays;
+
+/**
+ * Repite una FightLog en un solo hilo: el oráculo secuencial de la simulación.
+ *
+ * Aplica cada pelea de la bitácora, en orden, con las mismas reglas que
+ * Immortal.applyFight (se omite si alguno ya está muerto) sobre arreglos de
+ * enteros indexados por id, sin locks, hilos ni pacing. El resultado sirve
+ * para comparar la salud final de la corrida concurrente contra la secuencial
+ * y para medir el costo de CPU por pelea sin ruido del planificador.
+ */
+public final class FightReplay {
+  private FightReplay() {}
+
+  /**
+   * Repite la bitácora desde el estado inicial dado.
+   *
+   * @param log peleas registradas
+   * @param initialHealth salud inicial por id
+   * @param damage daño por id de atacante
+   * @return salud final, peleas repetidas, divergencias y tiempo empleado
+   * @throws IllegalArgumentException si los arreglos tienen distinto tamaño
+   */
+  public static Result replay(FightLog log, int[] initialHealth, int[] damage) {
+    if (initialHealth.length != damage.length) {
+      throw new IllegalArgumentException("health and damage sizes differ: " + initialHealth.length + " vs " + damage.length);
+    }
+    int[] health = initialHealth.clone();
+    int fights = log.size();
+    int divergent = 0;
+    long start = System.nanoTime();
+    for (int i = 0; i < fights; i++) {
+      int a = log.attacker(i);
+      int d = log.defender(i);
+      if (health[a] <= 0 || health[d] <= 0) { divergent++; continue; }
+      health[d] -= damage[a];
+      health[a] += damage[a];
+    }
+    return new Result(health, fights, divergent, System.nanoTime() - start);
+  }
+
+  /**
+   * Resultado de una repetición secuencial.
+   *
+   * @param health salud final por id según el oráculo
+   * @param fights peleas leídas de la bitácora
+   * @param divergent peleas que el oráculo omitió porque un participante ya
+   *        estaba muerto (0 si la bitácora es una serialización válida)
+   * @param nanos tiempo de la repetición en nanosegundos
+   */
+  public record Result(int[] health, int fights, int divergent, long nanos) {
+
+    /**
+     * Costo promedio por pelea de la repetición.
+     *
+     * @return nanosegundos por pelea, o 0 si no hubo peleas
+     */
+    public double nanosPerFight() { return fights == 0 ? 0 : (double) nanos / fights; }
+
+    /**
+     * Cuenta los ids cuya salud observada difiere de la del oráculo.
+     *
+     * @param observed salud por id de la corrida concurrente
+     * @return número de inmortales con salud distinta
+     * @throws IllegalArgumentException si los tamaños no coinciden
+     */
+    public int mismatches(int[] observed) {
+      if (observed.length != health.length) {
+        throw new IllegalArgumentException("size differs: " + observed.length + " vs " + health.length);
+      }
+      int n = 0;
+      for (int i = 0; i < health.length; i++) if (health[i] != observed[i]) n++;
+      return n;
+    }
+
+    @Override public String toString() {
+      return "Result[fights=" + fights + ", divergent=" + divergent + ", nanos=" + nanos
+        + ", health=" + Arrays.toString(health) + "]";
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package edu.eci.arsw.immortals;
+
+import java.util.Locale;
+
+/**
+ * Estrategia de sincronización de una pelea entre dos inmortales.
+ *
+ * PUNTO 6 y 8 DEL ENUNCIADO: Regiones críticas y corrección de deadlocks.
+ * Cada implementación decide cómo obtener exclusión sobre atacante y defensor
+ * y luego aplica Immortal.applyFight() y Immortal.settle(). Se resuelve una sola
+ * vez (ImmortalManager o constructor de Immortal), no en cada iteración.
+ */
+public interface FightStrategy {
+
+  /**
+   * Ejecuta una pelea: el atacante quita damage al defensor y lo suma a sí mismo.
+   *
+   * @param attacker inmortal que ataca
+   * @param defender inmortal atacado
+   * @throws InterruptedException si el hilo es interrumpido esperando un lock
+   */
+  void fight(Immortal attacker, Immortal defender) throws InterruptedException;
+
+  /**
+   * Nombre con el que se selecciona la estrategia (-Dfight).
+   *
+   * @return nombre en minúsculas
+   */
+  String name();
+
+  /**
+   * Resuelve una estrategia por nombre.
+   *
+   * @param name "naive", "ordered", "stamped", "trylock", "lockfree", "unsafe", "actor" o "actor:N"
+   *        (buzones de N ataques) sin distinguir mayúsculas
+   * @return la estrategia correspondiente
+   * @throws IllegalArgumentException si el nombre no corresponde a ninguna estrategia
+   */
+  static FightStrategy forName(String name) {
+    String s = name.toLowerCase(Locale.ROOT);
+    if (s.startsWith("actor:")) {
+      try {
+        return new ActorFight(Integer.parseInt(s.substring("actor:".length())));
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid mailbox capacity: " + name, e);
+      }
+    }
+    return switch (s) {
+      case "naive" -> new NaiveFight();
+      case "ordered" -> new OrderedFight();
+      case "stamped" -> new StampedOrderedFight();
+      case "trylock" -> new TryLockFight();
+      case "lockfree" -> new LockFreeFight();
+      case "unsafe" -> new UnsafeFight();
+      case "actor" -> new ActorFight(ActorFight.DEFAULT_CAPACITY);
+      case "packed" -> throw new IllegalArgumentException("packed needs the population size, use forName(name, populationSize)");
+      default -> throw new IllegalArgumentException("Unknown fight strategy: " + name + " (use naive|ordered|stamped|trylock|lockfree|packed|unsafe|actor[:N])");
+    };
+  }
+
+  /**
+   * Resuelve una estrategia por nombre para una población de tamaño conocido.
+   *
+   * Además de las de forName(String), admite "packed": salud en un arreglo
+   * atómico indexado por id (ids densos 0..populationSize-1).
+   *
+   * @param name nombre de la estrategia
+   * @param populationSize número de inmortales (ids 0..populationSize-1)
+   * @return la estrategia correspondiente
+   * @throws IllegalArgumentException si el nombre no corresponde a ninguna estrategia
+   */
+  static FightStrategy forName(String name, int populationSize) {
+    if ("packed".equalsIgnoreCase(name)) return new PackedHealthFight(populationSize);
+    return forName(name);
+  }
+}
@@ -0,0 +1,11 @@
+package edu.eci.arsw.immortals;
+
+/**
+ * Salud de toda la población en un corte consistente, tomado sin pausar.
+ *
+ * @param epoch época del corte (crece con cada snapshot)
+ * @param health salud de cada inmortal indexada por id
+ * @param total suma de health (igual a N * H si el invariante se mantiene)
+ * @param nanos lo que tardó el snapshot, incluida la espera de las peleas en curso
+ */
+public record HealthSnapshot(long epoch, int[] health, long total, long nanos) {}
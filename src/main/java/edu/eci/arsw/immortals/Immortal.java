@@ -1,16 +1,25 @@
 package edu.eci.arsw.immortals;
 
+import edu.eci.arsw.concurrency.Pacer;
 import edu.eci.arsw.concurrency.PauseController;
 
-import java.util.List;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
 import java.util.Objects;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
 
 /**
  * Representa un inmortal en la simulación estilo Highlander.
  * 
  * Cada inmortal ejecuta en su propio hilo virtual, seleccionando oponentes
- * aleatoriamente y peleando continuamente hasta ser detenido o morir.
+ * aleatoriamente y peleando continuamente hasta ser detenido o morir. Con un
+ * pool de tamaño fijo (ExecutorPolicy) un SliceDriver invoca step() de varios
+ * inmortales desde el mismo hilo.
  * 
  * PUNTO 1 DEL ENUNCIADO: Mecánica de pelea con invariante.
  * En cada pelea, el atacante resta M de salud al oponente y suma M a sí mismo,
@@ -19,36 +28,208 @@ import java.util.concurrent.ThreadLocalRandom;
  * PUNTO 4 DEL ENUNCIADO: Pausa cooperativa.
  * Verifica el PauseController en cada iteración, permitiéndose pausar
  * sin usar Thread.suspend() (método deprecado y peligroso).
+ * 
+ * PUNTO 6 y 8 DEL ENUNCIADO: La sincronización de cada pelea la define una
+ * FightStrategy (naive, ordered, stamped, trylock, lockfree, packed, unsafe,
+ * actor) resuelta una sola vez al construir el inmortal; este solo aporta la
+ * mutación de salud sin locks. Con "actor" la salud solo la escribe el propio
+ * inmortal, procesando los ataques de su Mailbox (receive()).
+ * Con "packed" la salud no vive en el objeto sino en un PackedHealthTable
+ * indexado por el id del inmortal.
+ * 
+ * Con un RandomGenerator propio (ImmortalManager con -Dseed) la secuencia de
+ * oponentes que sortea cada inmortal es reproducible; sin él se usa
+ * ThreadLocalRandom.
  */
 public final class Immortal implements Runnable {
+  private static final AtomicInteger STANDALONE_IDS = new AtomicInteger();
+  /** Ritmo histórico del lab: 2ms entre peleas. */
+  private static final Pacer DEFAULT_PACER = Pacer.fixed(Duration.ofMillis(2));
+
+  private final int id;
   private final String name;
-  private int health;
+  private volatile int health;
   private final int damage;
-  private final List<Immortal> population;
+  private final int initialHealth;
+  /**
+   * Neto ganado (+) y perdido (-) en peleas según lo que cada pelea quiso
+   * transferir; solo se actualiza con InvariantChecker. Sin actualizaciones
+   * perdidas, health == initialHealth + ledger.
+   */
+  private volatile int ledger;
+  /**
+   * Escrituras de health + ledger empezadas y terminadas (solo con
+   * InvariantChecker). Funcionan como un seqlock de varios escritores: si
+   * terminadas (leída antes) == empezadas (leída después), ninguna escritura
+   * se cruzó con la lectura, aunque la estrategia no tome locks.
+   */
+  private volatile int writesBegun;
+  private volatile int writesEnded;
+  private final Population population;
   private final ScoreBoard scoreBoard;
   private final PauseController controller;
+  private final FightStrategy strategy;
+  private final Pacer pacer;
+  /** Generador propio del modo con semilla, o null para usar ThreadLocalRandom. */
+  private final RandomGenerator random;
+  /** Bitácora de peleas del ScoreBoard, o null si no se registran. */
+  private final FightLog fightLog;
+  /** Tabla de salud de la estrategia packed, o null si la salud vive en el campo health. */
+  private final PackedHealthTable healthTable;
+  /** Lock explícito para estrategias basadas en java.util.concurrent.locks. */
+  private final ReentrantLock lock = new ReentrantLock();
+  /** Lock de la estrategia stamped (escritura en peleas, lectura optimista en getHealth), o null. */
+  private final StampedLock guard;
   private volatile boolean running = true;
+  /** Buzón de ataques de la estrategia actor, o null. */
+  private final Mailbox mailbox;
+  private final Consumer<Immortal> absorb;
+  /**
+   * Créditos pendientes (estrategia actor): ataques de this ya descontados a
+   * su defensor y todavía no sumados a la salud de this, en unidades de damage.
+   */
+  private volatile int credits;
+  /** Posición en el índice de vivos; solo la modifica Population bajo su write lock. */
+  int slot = -1;
+  /** Épocas de snapshot; ImmortalManager la asigna antes de iniciar los hilos (null = sin snapshots). */
+  SnapshotEpochs snapshots;
+  /** Salud previa a la primera pelea de la época snapEpoch (copy-on-fight). */
+  private int snapHealth;
+  private volatile long snapEpoch;
+  /** Verificación incremental del invariante; ImmortalManager la asigna antes de iniciar los hilos (null = apagada). */
+  InvariantChecker checker;
+
+  /** Reintentos con onSpinWait antes de ceder el procesador al escritor. */
+  private static final int SPINS_BEFORE_YIELD = 64;
+
+  private static final VarHandle HEALTH;
+  private static final VarHandle LEDGER;
+  private static final VarHandle BEGUN;
+  private static final VarHandle ENDED;
+  private static final VarHandle CREDITS;
+  static {
+    try {
+      HEALTH = MethodHandles.lookup().findVarHandle(Immortal.class, "health", int.class);
+      LEDGER = MethodHandles.lookup().findVarHandle(Immortal.class, "ledger", int.class);
+      BEGUN = MethodHandles.lookup().findVarHandle(Immortal.class, "writesBegun", int.class);
+      ENDED = MethodHandles.lookup().findVarHandle(Immortal.class, "writesEnded", int.class);
+      CREDITS = MethodHandles.lookup().findVarHandle(Immortal.class, "credits", int.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
 
   /**
-   * Constructor del inmortal.
+   * Constructor del inmortal con la estrategia de pelea de -Dfight.
+   * 
+   * La propiedad se lee una sola vez aquí, no en cada iteración del ciclo.
+   * El id se toma de una secuencia del proceso (único, no denso).
    * 
    * @param name nombre identificador del inmortal
    * @param health salud inicial
    * @param damage daño que inflige en cada ataque
-   * @param population lista compartida de todos los inmortales (para elegir oponentes)
+   * @param population índice compartido de inmortales vivos (para elegir oponentes)
    * @param scoreBoard marcador global de peleas
    * @param controller controlador de pausa compartido
    * @throws NullPointerException si name, population, scoreBoard o controller son null
+   * @throws IllegalArgumentException si -Dfight es packed (necesita ids densos, ver ImmortalManager)
+   */
+  public Immortal(String name, int health, int damage, Population population, ScoreBoard scoreBoard, PauseController controller) {
+    this(name, health, damage, population, scoreBoard, controller,
+      FightStrategy.forName(System.getProperty("fight", "ordered")));
+  }
+
+  /**
+   * Constructor del inmortal con id tomado de una secuencia del proceso
+   * y pausa fija de 2ms entre peleas.
+   * 
+   * @param name nombre identificador del inmortal
+   * @param health salud inicial
+   * @param damage daño que inflige en cada ataque
+   * @param population índice compartido de inmortales vivos (para elegir oponentes)
+   * @param scoreBoard marcador global de peleas
+   * @param controller controlador de pausa compartido
+   * @param strategy estrategia de sincronización de las peleas
+   * @throws NullPointerException si name, population, scoreBoard, controller o strategy son null
+   * @throws IllegalArgumentException si la estrategia es packed (necesita ids densos, ver ImmortalManager)
    */
-  public Immortal(String name, int health, int damage, List<Immortal> population, ScoreBoard scoreBoard, PauseController controller) {
+  public Immortal(String name, int health, int damage, Population population, ScoreBoard scoreBoard,
+                  PauseController controller, FightStrategy strategy) {
+    this(standaloneId(strategy), name, health, damage, population, scoreBoard, controller, strategy, DEFAULT_PACER);
+  }
+
+  /** Siguiente id de la secuencia del proceso; packed no la admite porque sus ids indexan una tabla. */
+  private static int standaloneId(FightStrategy strategy) {
+    if (strategy instanceof PackedHealthFight) {
+      throw new IllegalArgumentException("packed needs dense ids 0..N-1, pass the id explicitly or use ImmortalManager");
+    }
+    return STANDALONE_IDS.getAndIncrement();
+  }
+
+  /**
+   * Constructor del inmortal.
+   * 
+   * @param id identificador numérico (denso 0..N-1 cuando lo asigna ImmortalManager)
+   * @param name nombre identificador del inmortal
+   * @param health salud inicial
+   * @param damage daño que inflige en cada ataque
+   * @param population índice compartido de inmortales vivos (para elegir oponentes)
+   * @param scoreBoard marcador global de peleas
+   * @param controller controlador de pausa compartido
+   * @param strategy estrategia de sincronización de las peleas
+   * @param pacer ritmo entre peleas (think time)
+   * @throws NullPointerException si name, population, scoreBoard, controller, strategy o pacer son null
+   * @throws IndexOutOfBoundsException si la estrategia es packed y el id no cabe en su tabla
+   */
+  public Immortal(int id, String name, int health, int damage, Population population, ScoreBoard scoreBoard,
+                  PauseController controller, FightStrategy strategy, Pacer pacer) {
+    this(id, name, health, damage, population, scoreBoard, controller, strategy, pacer, null);
+  }
+
+  /**
+   * Constructor del inmortal con generador propio para elegir oponentes.
+   * 
+   * @param id identificador numérico (denso 0..N-1 cuando lo asigna ImmortalManager)
+   * @param name nombre identificador del inmortal
+   * @param health salud inicial
+   * @param damage daño que inflige en cada ataque
+   * @param population índice compartido de inmortales vivos (para elegir oponentes)
+   * @param scoreBoard marcador global de peleas
+   * @param controller controlador de pausa compartido
+   * @param strategy estrategia de sincronización de las peleas
+   * @param pacer ritmo entre peleas (think time)
+   * @param random generador usado solo por el hilo de este inmortal, o null para ThreadLocalRandom
+   * @throws NullPointerException si name, population, scoreBoard, controller, strategy o pacer son null
+   * @throws IndexOutOfBoundsException si la estrategia es packed y el id no cabe en su tabla
+   */
+  public Immortal(int id, String name, int health, int damage, Population population, ScoreBoard scoreBoard,
+                  PauseController controller, FightStrategy strategy, Pacer pacer, RandomGenerator random) {
+    this.id = id;
     this.name = Objects.requireNonNull(name);
     this.health = health;
     this.damage = damage;
+    this.initialHealth = health;
     this.population = Objects.requireNonNull(population);
     this.scoreBoard = Objects.requireNonNull(scoreBoard);
     this.controller = Objects.requireNonNull(controller);
+    this.strategy = Objects.requireNonNull(strategy);
+    this.pacer = Objects.requireNonNull(pacer);
+    this.random = random;
+    this.fightLog = scoreBoard.fightLog();
+    this.healthTable = strategy instanceof PackedHealthFight packed ? packed.table() : null;
+    this.guard = strategy instanceof StampedOrderedFight ? new StampedLock() : null;
+    this.mailbox = strategy instanceof ActorFight actor ? new Mailbox(actor.capacity()) : null;
+    this.absorb = mailbox != null ? this::absorb : null;
+    if (healthTable != null) healthTable.init(id, health);
   }
 
+  /**
+   * Obtiene el id numérico del inmortal.
+   * 
+   * @return id (denso 0..N-1 dentro de un ImmortalManager)
+   */
+  public int getId() { return id; }
+
   /**
    * Obtiene el nombre del inmortal.
    * 
@@ -59,16 +240,32 @@ public final class Immortal implements Runnable {
   public int getDamage() { return damage; }
   
   /**
-   * Obtiene la salud actual del inmortal de forma thread-safe.
+   * Obtiene la salud actual del inmortal de forma thread-safe, sin bloquear peleas.
    * 
-   * PUNTO 6 DEL ENUNCIADO: Región crítica sincronizada.
-   * El método synchronized garantiza que la lectura de health no ocurra
-   * durante una modificación en fightNaive() o fightOrdered(), evitando
-   * lecturas inconsistentes (dirty reads) durante actualizaciones concurrentes.
+   * PUNTO 6 DEL ENUNCIADO: Lectura consistente sin región crítica.
+   * Antes la lectura tomaba el monitor del inmortal para no observar una
+   * pelea a medias, y así totalHealth() competía con las peleas por N
+   * monitores. Ahora es una lectura volatile directa: health es un único int
+   * volatile, no puede leerse a medias, y lo que aporta consistencia entre
+   * inmortales es el snapshot por épocas, no un lock por lector. El lector
+   * nunca toma un lock, así que no retrasa a ninguna pelea.
+   * Con la estrategia packed la salud se lee de la tabla atómica. Con la
+   * estrategia stamped se usa lectura optimista del StampedLock y solo si una
+   * pelea invalidó el stamp se reintenta con read lock.
    * 
    * @return salud actual del inmortal
    */
-  public synchronized int getHealth() { return health; }
+  public int getHealth() {
+    if (healthTable != null) return healthTable.health(id);
+    if (guard != null) {
+      long stamp = guard.tryOptimisticRead();
+      int h = health;
+      if (guard.validate(stamp)) return h;
+      stamp = guard.readLock();
+      try { return health; } finally { guard.unlockRead(stamp); }
+    }
+    return health;
+  }
   
   /**
    * Verifica si el inmortal está vivo y en ejecución.
@@ -99,101 +296,332 @@ public final class Immortal implements Runnable {
    * El ciclo:
    * 1. Verifica si debe pausarse
    * 2. Selecciona oponente aleatorio
-   * 3. Ejecuta pelea (naive o ordered según configuración)
-   * 4. Duerme 2ms antes de siguiente iteración
+   * 3. Ejecuta pelea con la estrategia configurada
+   * 4. Espera según el Pacer configurado (2ms fijos por defecto)
+   * 
+   * Termina cuando running=false, cuando muere (health &lt;= 0), cuando ya no
+   * quedan oponentes vivos (último en pie) o es interrumpido.
    * 
-   * Termina cuando running=false o es interrumpido.
+   * El hilo se registra en el PauseController mientras corre el ciclo, así la
+   * barrera de quiescencia sabe cuántos hilos deben pausarse.
    */
   @Override public void run() {
+    controller.register();
     try {
       while (running) {
         controller.awaitIfPaused();
-        if (!running) break;
-        var opponent = pickOpponent();
-        if (opponent == null) continue;
-        String mode = System.getProperty("fight", "ordered");
-        if ("naive".equalsIgnoreCase(mode)) fightNaive(opponent);
-        else fightOrdered(opponent);
-        Thread.sleep(2);
+        if (!step()) break;
+        pacer.pace();
       }
     } catch (InterruptedException ie) {
       Thread.currentThread().interrupt();
+    } finally {
+      controller.deregister();
     }
   }
 
+  /**
+   * Una iteración del ciclo, sin checkpoint de pausa ni pacing: elige
+   * oponente y pelea con la estrategia configurada.
+   * 
+   * @return false si el inmortal terminó (detenido, muerto o sin oponentes)
+   * @throws InterruptedException si el hilo es interrumpido esperando un lock
+   */
+  boolean step() throws InterruptedException {
+    if (!running || getHealth() <= 0) return false;
+    var opponent = pickOpponent();
+    if (opponent == null) return false;
+    boolean timed = scoreBoard.recordsLatency();
+    long start = timed ? System.nanoTime() : 0L;
+    strategy.fight(this, opponent);
+    if (timed) scoreBoard.recordLatency(System.nanoTime() - start);
+    return true;
+  }
+
   /**
    * Selecciona un oponente aleatorio de la población.
    * 
-   * PUNTO 10 DEL ENUNCIADO: Uso de colección concurrente.
-   * Accede a population (CopyOnWriteArrayList) sin sincronización externa.
-   * Esta lista es thread-safe y permite iteraciones sin ConcurrentModificationException.
+   * PUNTO 10 DEL ENUNCIADO: Solo se eligen inmortales vivos.
+   * Population muestrea en O(1) entre los vivos (sin cadáveres ni reintentos)
+   * usando lectura optimista, sin bloquear a los demás hilos.
    * 
-   * @return un inmortal diferente a this, o null si no hay otros inmortales
+   * @return un inmortal vivo diferente a this, o null si no quedan otros vivos
    */
   private Immortal pickOpponent() {
-    if (population.size() <= 1) return null;
-    Immortal other;
-    do {
-      other = population.get(ThreadLocalRandom.current().nextInt(population.size()));
-    } while (other == this);
-    return other;
+    return random == null ? population.sampleOther(this) : population.sampleOther(this, random);
+  }
+
+  /**
+   * Aplica la pelea sin sincronización: resta damage al oponente y lo suma a this.
+   * 
+   * PUNTO 1 DEL ENUNCIADO: Invariante corregido.
+   * Suma de health se mantiene constante: -damage + damage = 0.
+   * El llamador (la estrategia) debe tener exclusión mutua sobre ambos; por eso
+   * la pelea se registra en la FightLog aquí, todavía dentro de los locks.
+   * 
+   * @param other el inmortal oponente
+   * @return resultado de la pelea
+   */
+  FightOutcome applyFight(Immortal other) {
+    if (this.health <= 0 || other.health <= 0) return FightOutcome.SKIPPED;
+    SnapshotEpochs epochs = snapshots;
+    long epoch = 0;
+    if (epochs != null) {
+      epoch = epochs.enter();
+      this.preserve(epoch);
+      other.preserve(epoch);
+    }
+    transfer(other, this.health, other.health);
+    if (epochs != null) epochs.exit(epoch);
+    logFight(other);
+    return other.health <= 0 ? FightOutcome.KILL : FightOutcome.HIT;
+  }
+
+  /**
+   * Aplica la pelea sin ninguna exclusión (estrategia "unsafe").
+   * 
+   * Lee ambas saludes, cede el procesador y recién entonces escribe: cualquier
+   * pelea concurrente sobre los mismos inmortales en ese hueco se pierde y el
+   * invariante N * H se rompe. Existe para demostrar InvariantChecker; no toca
+   * snapshots (ImmortalManager la rechaza con -Dsnapshots).
+   * 
+   * @param other el inmortal oponente
+   * @return resultado de la pelea
+   */
+  FightOutcome applyFightUnsynchronized(Immortal other) {
+    int a0 = this.health;
+    int d0 = other.health;
+    if (a0 <= 0 || d0 <= 0) return FightOutcome.SKIPPED;
+    Thread.yield();
+    transfer(other, a0, d0);
+    logFight(other);
+    return d0 - damage <= 0 ? FightOutcome.KILL : FightOutcome.HIT;
   }
 
   /**
-   * Implementación naive de pelea con locks anidados en orden variable.
+   * Escribe la pelea a partir de las saludes leídas a0 (this) y d0 (other).
    * 
-   * PUNTO 6 DEL ENUNCIADO: Demostración de deadlock potencial.
-   * Esta implementación adquiere locks en el orden this->other, que varía según
-   * quién ataca a quién. Si dos inmortales se atacan simultáneamente:
-   * - Thread A: lock(A) -> espera lock(B)
-   * - Thread B: lock(B) -> espera lock(A)
-   * Resultado: deadlock circular.
+   * Con InvariantChecker cada escritura es un getAndSet: si el valor pisado no
+   * es el leído, otro hilo escribió en el medio y su actualización se perdió;
+   * la suma de esas diferencias es exactamente lo que la pelea desvió el total
+   * de N * H, y se reporta al checker en el momento. Con exclusión sobre ambos
+   * (toda estrategia con locks) la diferencia es siempre 0.
    * 
-   * PUNTO 1 DEL ENUNCIADO: Corrección del invariante.
-   * Se cambió += damage/2 por += damage para mantener suma constante:
-   * atacante gana lo que el defensor pierde (suma cero).
+   * @param other el inmortal oponente
+   * @param a0 salud leída de this
+   * @param d0 salud leída de other
+   */
+  private void transfer(Immortal other, int a0, int d0) {
+    InvariantChecker ck = checker;
+    if (ck == null) {
+      other.health = d0 - damage;
+      this.health = a0 + damage;
+      return;
+    }
+    BEGUN.getAndAdd(other, 1);
+    BEGUN.getAndAdd(this, 1);
+    int lost = ((int) HEALTH.getAndSet(other, d0 - damage) - d0) + ((int) HEALTH.getAndSet(this, a0 + damage) - a0);
+    LEDGER.getAndAdd(other, -damage);
+    LEDGER.getAndAdd(this, damage);
+    ENDED.getAndAdd(other, 1);
+    ENDED.getAndAdd(this, 1);
+    if (lost != 0) ck.fightDrift(this, other, -lost);
+  }
+
+  /**
+   * Aplica la pelea con CAS, sin locks.
+   * 
+   * Primero se acredita el daño al atacante con compareAndSet, solo si sigue
+   * vivo: un atacante muerto (y ya quitado de Population) nunca recupera
+   * salud. Luego se descuenta del oponente con compareAndSet, solo si sigue
+   * vivo; si murió entre ambos pasos se le devuelve el crédito al atacante
+   * (si eso lo deja sin salud, settle() lo quita de Population). La suma total solo difiere de N * H mientras la pelea está
+   * en curso, nunca en un checkpoint de pausa.
    * 
    * @param other el inmortal oponente
+   * @return resultado de la pelea
    */
-  private void fightNaive(Immortal other) {
-    synchronized (this) {
-      synchronized (other) {
-        if (this.health <= 0 || other.health <= 0) return;
-        other.health -= this.damage;
-        this.health += this.damage;
-        scoreBoard.recordFight();
+  FightOutcome applyFightLockFree(Immortal other) {
+    if (!addHealthIfAlive(damage)) return FightOutcome.SKIPPED;
+    boolean checked = checker != null;
+    if (checked) BEGUN.getAndAdd(other, 1);
+    int h;
+    do {
+      h = other.health;
+      if (h <= 0) {
+        if (checked) ENDED.getAndAdd(other, 1);
+        takeBackCredit();
+        return FightOutcome.SKIPPED;
+      }
+    } while (!HEALTH.compareAndSet(other, h, h - damage));
+    if (checked) {
+      LEDGER.getAndAdd(other, -damage);
+      ENDED.getAndAdd(other, 1);
+    }
+    logFight(other);
+    return h - damage <= 0 ? FightOutcome.KILL : FightOutcome.HIT;
+  }
+
+  /** Suma delta a la salud de this con CAS, solo si sigue vivo; false si ya murió. */
+  private boolean addHealthIfAlive(int delta) {
+    boolean checked = checker != null;
+    if (checked) BEGUN.getAndAdd(this, 1);
+    int h;
+    do {
+      h = health;
+      if (h <= 0) {
+        if (checked) ENDED.getAndAdd(this, 1);
+        return false;
       }
+    } while (!HEALTH.compareAndSet(this, h, h + delta));
+    if (checked) {
+      LEDGER.getAndAdd(this, delta);
+      ENDED.getAndAdd(this, 1);
+    }
+    return true;
+  }
+
+  /** Devuelve el crédito de una pelea que no se aplicó (resta damage a this). */
+  private void takeBackCredit() {
+    boolean checked = checker != null;
+    if (checked) BEGUN.getAndAdd(this, 1);
+    HEALTH.getAndAdd(this, -damage);
+    if (checked) {
+      LEDGER.getAndAdd(this, -damage);
+      ENDED.getAndAdd(this, 1);
     }
   }
 
   /**
-   * Implementación de pelea con orden total para prevenir deadlocks.
+   * Pelea sin locks cuando el llamador garantiza exclusividad sobre ambos.
    * 
-   * PUNTO 6 y 8 DEL ENUNCIADO: Estrategia de orden consistente.
-   * Determina el orden de adquisición de locks ANTES de bloquear, usando
-   * comparación alfabética de nombres. Esto garantiza que todos los hilos
-   * adquieren locks en el mismo orden global, eliminando ciclos de dependencia.
+   * La usa RoundEngine: en una ronda cada inmortal está en una sola pareja,
+   * así que nadie más toca a this ni a other mientras dura la pelea. Con la
+   * estrategia packed la salud se transfiere igual en su tabla.
    * 
-   * Ejemplo:
-   * - Thread A (Immortal-0 vs Immortal-1): lock(0) -> lock(1)
-   * - Thread B (Immortal-1 vs Immortal-0): lock(0) -> lock(1) [mismo orden]
-   * No hay ciclo = no hay deadlock.
+   * @param other el inmortal oponente
+   */
+  void fightExclusive(Immortal other) {
+    boolean timed = scoreBoard.recordsLatency();
+    long start = timed ? System.nanoTime() : 0L;
+    FightOutcome outcome;
+    if (healthTable == null) {
+      outcome = applyFight(other);
+    } else {
+      outcome = healthTable.transfer(id, other.id, damage);
+      if (outcome != FightOutcome.SKIPPED) logFight(other);
+    }
+    settle(other, outcome);
+    if (timed) scoreBoard.recordLatency(System.nanoTime() - start);
+  }
+
+  /**
+   * Registra el resultado de una pelea, fuera de cualquier lock.
    * 
-   * PUNTO 1 DEL ENUNCIADO: Invariante corregido.
-   * Suma de health se mantiene constante: -damage + damage = 0.
+   * PUNTO 10 DEL ENUNCIADO: Si el oponente muere se remueve del índice de
+   * vivos, sin anidar el lock del índice dentro de los locks de la pelea.
+   * Con las estrategias CAS (lockfree, packed) una pelea que no se aplicó
+   * pudo devolverle el crédito al atacante y dejarlo sin salud; entonces es
+   * this quien se quita del índice (remove() no hace nada si ya no estaba).
    * 
    * @param other el inmortal oponente
+   * @param outcome resultado devuelto por applyFight
    */
-  private void fightOrdered(Immortal other) {
-    Immortal first = this.name.compareTo(other.name) < 0 ? this : other;
-    Immortal second = this.name.compareTo(other.name) < 0 ? other : this;
-    synchronized (first) {
-      synchronized (second) {
-        if (this.health <= 0 || other.health <= 0) return;
-        other.health -= this.damage;
-        this.health += this.damage;
-        scoreBoard.recordFight();
-      }
+  void settle(Immortal other, FightOutcome outcome) {
+    if (outcome == FightOutcome.SKIPPED) {
+      if (getHealth() <= 0) population.remove(this);
+      return;
     }
+    boolean killed = outcome == FightOutcome.KILL;
+    scoreBoard.recordFight(this, other, killed);
+    if (killed) population.remove(other);
   }
+
+  /**
+   * Registra en la FightLog (si hay) una pelea ya aplicada contra other.
+   * 
+   * @param other el inmortal oponente
+   */
+  void logFight(Immortal other) { if (fightLog != null) fightLog.record(id, other.id); }
+
+  /**
+   * Guarda la salud actual como valor del corte si es la primera pelea de
+   * this en la época dada. Se llama con exclusión sobre this.
+   * 
+   * @param epoch época de la pelea en curso
+   */
+  private void preserve(long epoch) {
+    if (snapEpoch < epoch) {
+      snapHealth = health;
+      snapEpoch = epoch;
+    }
+  }
+
+  /**
+   * Salud en el corte de la época cut (ver SnapshotEpochs).
+   * 
+   * Se lee health antes que snapEpoch: si una pelea posterior al corte ya
+   * escribió health, también publicó antes snapEpoch y se devuelve la copia.
+   * 
+   * @param cut época del corte, con las peleas de la época anterior terminadas
+   * @return salud del inmortal en el corte
+   */
+  int healthAt(long cut) {
+    int h = health;
+    return snapEpoch >= cut ? snapHealth : h;
+  }
+
+  /**
+   * Diferencia entre la salud y lo que explican las peleas (initialHealth + ledger).
+   * 
+   * Se lee entre writesEnded y writesBegun y se reintenta si alguna escritura
+   * se cruzó, así que nunca observa una pelea a medias, con o sin locks. Una
+   * actualización perdida no se corrige sola: la diferencia es permanente.
+   * 
+   * @return 0 si ninguna actualización de este inmortal se perdió
+   */
+  int ledgerMismatch() {
+    for (int spins = 0; ; spins++) {
+      int ended = writesEnded;
+      int h = health;
+      int l = ledger;
+      if (writesBegun == ended) return h - initialHealth - l;
+      if (spins < SPINS_BEFORE_YIELD) Thread.onSpinWait(); else Thread.yield();
+    }
+  }
+
+  /**
+   * Procesa lo recibido (estrategia actor): suma los créditos pendientes y
+   * aplica en lote los ataques del buzón. Solo lo llama el hilo que ejecuta
+   * los pasos de this, único escritor de su salud.
+   */
+  void receive() {
+    int c = (int) CREDITS.getAndSet(this, 0);
+    if (c != 0) health += c * damage;
+    mailbox.drain(mailbox.capacity(), absorb);
+  }
+
+  /** Aplica un ataque recibido: descuenta el daño y acredita al atacante, o lo descarta si this ya murió. */
+  private void absorb(Immortal attacker) {
+    int h = health;
+    if (h <= 0) return;
+    health = h - attacker.damage;
+    CREDITS.getAndAdd(attacker, 1);
+    boolean killed = h - attacker.damage <= 0;
+    scoreBoard.recordFight(attacker, this, killed);
+    if (killed) population.remove(this);
+  }
+
+  /**
+   * Salud descontada a otros por ataques de this y todavía no acreditada.
+   * 
+   * @return créditos pendientes por damage (0 salvo con la estrategia actor)
+   */
+  int creditInTransit() { return credits * damage; }
+
+  Mailbox mailbox() { return mailbox; }
+
+  ReentrantLock lock() { return lock; }
+
+  StampedLock guard() { return guard; }
 }
@@ -1,13 +1,17 @@
 package edu.eci.arsw.immortals;
 
+import edu.eci.arsw.concurrency.ExecutorPolicy;
+import edu.eci.arsw.concurrency.Pacer;
 import edu.eci.arsw.concurrency.PauseController;
+import edu.eci.arsw.concurrency.Quiescence;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.SplittableRandom;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -15,34 +19,59 @@ import java.util.concurrent.TimeUnit;
  * Gestor del ciclo de vida de la simulación de inmortales.
  * 
  * PUNTO 10 DEL ENUNCIADO: Remover inmortales muertos sin bloqueo.
- * Se usa CopyOnWriteArrayList para la población, permitiendo modificaciones
- * concurrentes seguras sin sincronización global. Esta colección crea una
- * copia en cada write, evitando ConcurrentModificationException cuando
- * un hilo itera mientras otro modifica la lista.
+ * Los vivos se mantienen en un índice Population (arreglo con swap-remove):
+ * cuando un inmortal muere se remueve en O(1) y pickOpponent() muestrea en
+ * O(1) solo entre vivos, con lecturas optimistas que no bloquean las peleas.
+ * A diferencia de CopyOnWriteArrayList, remover no copia toda la población.
  * 
- * Trade-off: writes costosos pero reads muy eficientes (sin locks).
- * Apropiado para escenarios con muchas lecturas (pickOpponent) y pocas
- * escritas (remover muertos).
+ * El roster (lista inmutable con todos, vivos y muertos) se conserva aparte
+ * para el snapshot de la UI y para validar el invariante N * H.
+ * 
+ * Modo determinista: con config.seed() != 0 cada inmortal recibe su propio
+ * generador, derivado de la semilla en orden de id, y con
+ * config.fightLogCapacity() &gt; 0 se registran las peleas aplicadas. replay()
+ * repite esa bitácora en un solo hilo como oráculo secuencial.
+ * 
+ * Con ExecutionMode.ROUNDS no se lanza un hilo por inmortal: un RoundEngine
+ * arma rondas de parejas disjuntas y las pelea en un ForkJoinPool.
+ * 
+ * config.executor() elige los hilos (ExecutorPolicy): uno virtual por
+ * inmortal, o un pool fijo de plataforma / ForkJoinPool donde cada hilo
+ * atiende una porción de inmortales con un SliceDriver.
+ * 
+ * Con config.snapshots() se puede leer un corte consistente de la salud sin
+ * pausar (snapshot(), ver SnapshotEpochs).
+ * 
+ * Con config.auditEveryMs() &gt; 0 cada pelea mantiene la deriva del invariante
+ * y un auditor muestrea parejas en segundo plano (invariantChecker(), ver
+ * InvariantChecker), sin el recorrido O(N) de totalHealth().
  */
 public final class ImmortalManager implements AutoCloseable {
-  private final List<Immortal> population = new CopyOnWriteArrayList<>();
+  private final Population alive;
+  private final List<Immortal> roster;
   private final List<Future<?>> futures = new ArrayList<>();
   private final PauseController controller = new PauseController();
-  private final ScoreBoard scoreBoard = new ScoreBoard();
+  private final ScoreBoard scoreBoard;
   private ExecutorService exec;
+  private final Pacer pacer;
+  private final ExecutorPolicy policy;
+  private final SplittableRandom roundSeeds;
+  private final SnapshotEpochs snapshots;
+  private final InvariantChecker checker;
+  private RoundEngine rounds;
+  private ForkJoinPool roundPool;
 
-  private final String fightMode;
-  private final int initialHealth;
-  private final int damage;
+  private final SimulationConfig config;
+  private final FightStrategy strategy;
 
   /**
    * Constructor con modo de pelea, usando valores de health y damage del sistema.
    * 
    * @param n número de inmortales a crear
-   * @param fightMode "ordered" para prevenir deadlocks, "naive" para demostrarlos
+   * @param fightMode "ordered", "stamped", "trylock", "lockfree" o "packed" para prevenir deadlocks, "naive" para demostrarlos
    */
   public ImmortalManager(int n, String fightMode) {
-    this(n, fightMode, Integer.getInteger("health", 100), Integer.getInteger("damage", 10));
+    this(n, SimulationConfig.defaults().withFightMode(fightMode));
   }
 
   /**
@@ -53,33 +82,105 @@ public final class ImmortalManager implements AutoCloseable {
    * debe permanecer constante = N * H durante toda la simulación.
    * 
    * @param n número de inmortales
-   * @param fightMode modo de pelea ("ordered" o "naive")
+   * @param fightMode modo de pelea ("naive", "ordered", "stamped", "trylock", "lockfree", "packed" o "unsafe")
    * @param initialHealth salud inicial de cada inmortal
    * @param damage daño por ataque
    */
   public ImmortalManager(int n, String fightMode, int initialHealth, int damage) {
-    this.fightMode = fightMode;
-    this.initialHealth = initialHealth;
-    this.damage = damage;
+    this(n, SimulationConfig.defaults().withFightMode(fightMode).withHealth(initialHealth).withDamage(damage));
+  }
+
+  /**
+   * Constructor con configuración explícita.
+   * 
+   * PUNTO 1 DEL ENUNCIADO: Invariante del sistema.
+   * Crea N inmortales con salud inicial H cada uno (N * H constante).
+   * Los ids se asignan densos 0..N-1 en orden de creación. Un único Pacer
+   * se comparte entre todos (el límite "rate" aplica a toda la población).
+   * Con semilla, los generadores se obtienen con split() de un
+   * SplittableRandom raíz, así que dependen solo de la semilla y del id.
+   * 
+   * @param n número de inmortales
+   * @param config parámetros de la simulación
+   * @throws IllegalArgumentException si se piden snapshots con lockfree, packed, unsafe o actor,
+   *         auditoría (config.auditEveryMs()) con packed o actor, o bitácora con
+   *         lockfree, packed o actor
+   */
+  public ImmortalManager(int n, SimulationConfig config) {
+    this.config = config;
+    this.scoreBoard = new ScoreBoard(config.perImmortalStats(), config.recordLatency(), config.fightLogCapacity(), n);
+    this.strategy = FightStrategy.forName(config.fightMode(), n);
+    this.pacer = Pacer.parse(config.pacing(), controller);
+    this.policy = ExecutorPolicy.parse(config.executor());
+    this.alive = new Population(n);
+    SplittableRandom seeds = config.seed() != 0 ? new SplittableRandom(config.seed()) : null;
+    List<Immortal> all = new ArrayList<>(n);
     for (int i=0;i<n;i++) {
-      population.add(new Immortal("Immortal-"+i, initialHealth, damage, population, scoreBoard, controller));
+      Immortal im = new Immortal(i, "Immortal-"+i, config.initialHealth(), config.damage(), alive, scoreBoard, controller, strategy, pacer,
+        seeds != null ? seeds.split() : null);
+      all.add(im);
+      alive.add(im);
+    }
+    this.roster = Collections.unmodifiableList(all);
+    if ((strategy instanceof LockFreeFight || strategy instanceof PackedHealthFight || strategy instanceof ActorFight)
+        && config.fightLogCapacity() > 0) {
+      throw new IllegalArgumentException("fight log replay needs atomic fights, not " + strategy.name());
+    }
+    this.roundSeeds = seeds;
+    if (config.snapshots()) {
+      if (strategy instanceof LockFreeFight || strategy instanceof PackedHealthFight || strategy instanceof UnsafeFight
+          || strategy instanceof ActorFight) {
+        throw new IllegalArgumentException("consistent snapshots need a lock-based fight strategy (naive|ordered|stamped|trylock), not " + strategy.name());
+      }
+      this.snapshots = new SnapshotEpochs();
+      for (Immortal im : roster) im.snapshots = snapshots;
+    } else {
+      this.snapshots = null;
+    }
+    if (config.auditEveryMs() > 0) {
+      if (strategy instanceof PackedHealthFight || strategy instanceof ActorFight) {
+        throw new IllegalArgumentException("invariant audit needs the health in each immortal, not " + strategy.name());
+      }
+      this.checker = new InvariantChecker(Duration.ofMillis(config.auditEveryMs()));
+      for (Immortal im : roster) im.checker = checker;
+    } else {
+      this.checker = null;
     }
   }
 
   /**
    * Inicia la simulación creando y lanzando hilos para cada inmortal.
    * 
-   * Usa Executors.newVirtualThreadPerTaskExecutor() (Java 21+) para hilos
-   * virtuales ligeros, permitiendo escalar a miles de inmortales sin
-   * degradación de rendimiento.
+   * Con la política "virtual" usa Executors.newVirtualThreadPerTaskExecutor()
+   * (Java 21+): un hilo virtual ligero por inmortal, permitiendo escalar a
+   * miles de inmortales. Con "platform" o "forkjoin" reparte los inmortales
+   * en round-robin entre tantos SliceDriver como hilos tenga el pool.
+   * 
+   * En modo ROUNDS lanza un único hilo conductor (RoundEngine) y un
+   * ForkJoinPool con el paralelismo de la política.
    * 
    * Si ya hay una simulación en curso, la detiene antes de iniciar nueva.
+   * Con auditoría también arranca el auditor de InvariantChecker.
    */
   public synchronized void start() {
     if (exec != null) stop();
-    exec = Executors.newVirtualThreadPerTaskExecutor();
-    for (Immortal im : population) {
-      futures.add(exec.submit(im));
+    exec = policy.newExecutor();
+    if (checker != null) checker.start(roster);
+    if (config.execution() == ExecutionMode.ROUNDS) {
+      roundPool = new ForkJoinPool(policy.parallelism());
+      rounds = new RoundEngine(alive, controller, pacer, roundPool, roundSeeds != null ? roundSeeds.split() : null);
+      futures.add(exec.submit(rounds));
+      return;
+    }
+    if (policy.perTask()) {
+      for (Immortal im : roster) futures.add(exec.submit(im));
+      return;
+    }
+    int workers = Math.min(policy.parallelism(), roster.size());
+    for (int w = 0; w < workers; w++) {
+      List<Immortal> slice = new ArrayList<>();
+      for (int i = w; i < roster.size(); i += workers) slice.add(roster.get(i));
+      futures.add(exec.submit(new SliceDriver(slice, controller, pacer)));
     }
   }
 
@@ -103,6 +204,22 @@ public final class ImmortalManager implements AutoCloseable {
    * @see PauseController#resume()
    */
   public void resume() { controller.resume(); }
+
+  /**
+   * Espera a que todos los hilos de inmortales queden pausados.
+   * 
+   * PUNTO 4 y 5 DEL ENUNCIADO: Pausa completa antes de leer el estado.
+   * Debe llamarse después de pause(). Retorna en cuanto el último hilo
+   * llega al checkpoint, o al vencer el timeout.
+   * 
+   * @param timeoutMs tiempo máximo de espera en milisegundos
+   * @return resultado de la barrera de quiescencia
+   * @throws InterruptedException si el hilo es interrumpido durante la espera
+   * @see PauseController#waitUntilQuiescent(long)
+   */
+  public Quiescence awaitPaused(long timeoutMs) throws InterruptedException {
+    return controller.waitUntilQuiescent(timeoutMs);
+  }
   
   /**
    * Detiene ordenadamente la simulación, esperando terminación de hilos.
@@ -120,7 +237,8 @@ public final class ImmortalManager implements AutoCloseable {
    * @see ExecutorService#awaitTermination(long, TimeUnit)
    */
   public void stop() {
-    for (Immortal im : population) im.stop();
+    for (Immortal im : roster) im.stop();
+    if (rounds != null) rounds.stop();
     if (exec != null) {
       exec.shutdownNow();
       try {
@@ -132,18 +250,24 @@ public final class ImmortalManager implements AutoCloseable {
       }
       exec = null;
     }
+    if (roundPool != null) {
+      roundPool.shutdownNow();
+      roundPool = null;
+      rounds = null;
+    }
+    if (checker != null) checker.stop();
   }
 
   /**
-   * Cuenta el número de inmortales vivos (health > 0 y running = true).
+   * Cuenta el número de inmortales vivos (health &gt; 0).
+   * 
+   * PUNTO 10 DEL ENUNCIADO: Los muertos se remueven del índice al morir,
+   * así que el conteo es O(1) y no recorre la población. Es una lectura
+   * optimista de Population: no toma locks ni monitores de los inmortales.
    * 
    * @return cantidad de inmortales vivos
    */
-  public int aliveCount() {
-    int c = 0;
-    for (Immortal im : population) if (im.isAlive()) c++;
-    return c;
-  }
+  public int aliveCount() { return alive.size(); }
 
   /**
    * Calcula la suma total de salud de todos los inmortales.
@@ -152,27 +276,129 @@ public final class ImmortalManager implements AutoCloseable {
    * Con el sistema pausado, este valor debe ser igual a N * initialHealth.
    * Si difiere, indica condición de carrera o error en la lógica de pelea.
    * 
+   * La suma hace una lectura volatile por inmortal (getHealth(); con packed,
+   * de la tabla atómica, y con stamped, con lectura optimista del
+   * StampedLock), así que no toma ningún monitor ni retrasa las peleas en
+   * curso. Solo es exacta con el sistema pausado; sin pausa es un total
+   * aproximado que mezcla momentos distintos y puede diferir
+   * transitoriamente de N * H.
+   * 
+   * Con la estrategia actor suma también los créditos pendientes: el daño ya
+   * descontado al defensor que el atacante todavía no procesó.
+   * 
    * @return suma de health de todos los inmortales
    */
   public long totalHealth() {
     long sum = 0;
-    for (Immortal im : population) sum += im.getHealth();
+    for (Immortal im : roster) sum += im.getHealth() + im.creditInTransit();
     return sum;
   }
 
   /**
-   * Obtiene una copia inmutable de la población actual.
+   * Valor esperado del invariante: N * H.
+   * 
+   * @return suma de la salud inicial de toda la población
+   */
+  public long expectedTotalHealth() { return (long) roster.size() * config.initialHealth(); }
+
+  /**
+   * Snapshot consistente de la salud de todos, sin pausar la simulación.
+   * 
+   * PUNTO 3 y 5 DEL ENUNCIADO: Alternativa a Pause &amp; Check. Cada pelea queda
+   * entera antes o después del corte, así que total() == N * H aunque las
+   * peleas sigan; solo se esperan las peleas que están en applyFight en el
+   * momento del corte.
+   * 
+   * @return salud por id en el corte
+   * @throws IllegalStateException si no se habilitaron snapshots (config.snapshots())
+   */
+  public HealthSnapshot snapshot() {
+    if (snapshots == null) throw new IllegalStateException("snapshots disabled (config.snapshots() = false)");
+    return snapshots.take(roster);
+  }
+
+  /**
+   * Verificación incremental del invariante, si está habilitada.
+   * 
+   * PUNTO 1 DEL ENUNCIADO: drift() es la deriva de la suma total respecto de
+   * N * H acumulada pelea a pelea, disponible en O(1) sin pausar.
+   * 
+   * @return el checker, o null si config.auditEveryMs() es 0
+   */
+  public InvariantChecker invariantChecker() { return checker; }
+
+  /**
+   * Salud actual de cada inmortal indexada por id.
+   * 
+   * Solo es consistente con el sistema pausado o detenido.
+   * 
+   * @return arreglo nuevo de tamaño N
+   */
+  public int[] healthById() {
+    int[] health = new int[roster.size()];
+    for (Immortal im : roster) health[im.getId()] = im.getHealth();
+    return health;
+  }
+
+  /**
+   * Repite en un solo hilo las peleas registradas, desde la salud inicial.
+   * 
+   * Llamar con la simulación detenida (o pausada): el resultado se compara
+   * con healthById() mediante Result.mismatches().
+   * 
+   * @return resultado del oráculo secuencial
+   * @throws IllegalStateException si no se configuró bitácora (fightLogCapacity = 0)
+   */
+  public FightReplay.Result replay() {
+    FightLog log = scoreBoard.fightLog();
+    if (log == null) throw new IllegalStateException("fight log disabled (fightLogCapacity = 0)");
+    int[] health = new int[roster.size()];
+    int[] damage = new int[roster.size()];
+    for (Immortal im : roster) {
+      health[im.getId()] = config.initialHealth();
+      damage[im.getId()] = im.getDamage();
+    }
+    return FightReplay.replay(log, health, damage);
+  }
+
+  /**
+   * Obtiene la estrategia de pelea, resuelta una vez a partir de config.fightMode().
+   * 
+   * @return estrategia compartida por todos los inmortales
+   */
+  public FightStrategy fightStrategy() { return strategy; }
+
+  /**
+   * Ataques rechazados por contrapresión con la estrategia actor.
+   * 
+   * @return ataques descartados porque el buzón del defensor estaba lleno (0 con otras estrategias)
+   */
+  public long mailboxRejections() { return strategy instanceof ActorFight actor ? actor.rejected() : 0; }
+
+  /**
+   * Obtiene la política de hilos, resuelta una vez a partir de config.executor().
+   * 
+   * @return política de ejecución
+   */
+  public ExecutorPolicy executorPolicy() { return policy; }
+
+  /**
+   * Obtiene la configuración con la que se creó la simulación.
+   * 
+   * @return configuración inmutable
+   */
+  public SimulationConfig config() { return config; }
+
+  /**
+   * Obtiene la población completa (vivos y muertos) en orden de creación.
    * 
    * PUNTO 3 y 5 DEL ENUNCIADO: Snapshot consistente.
-   * Crea una nueva lista (snapshot) de la población en el momento de la llamada.
-   * Al estar pausado el sistema, este snapshot representa un estado consistente
-   * sin updates en progreso.
+   * El roster es inmutable; al estar pausado el sistema, las saludes leídas
+   * de estos inmortales representan un estado consistente sin updates en progreso.
    * 
    * @return vista no modificable de la población
    */
-  public List<Immortal> populationSnapshot() {
-    return Collections.unmodifiableList(new ArrayList<>(population));
-  }
+  public List<Immortal> populationSnapshot() { return roster; }
 
   /**
    * Obtiene el marcador global de peleas.
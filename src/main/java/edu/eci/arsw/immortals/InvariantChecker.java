@@ -0,0 +1,136 @@
+package edu.eci.arsw.immortals;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Verificación incremental del invariante N * H mientras corre la simulación.
+ *
+ * PUNTO 1 DEL ENUNCIADO: en vez de pausar y sumar las N saludes, cada pelea
+ * escribe la salud con getAndSet y compara lo que pisó con lo que había leído:
+ * si otro hilo escribió en el medio (actualización perdida), la diferencia es
+ * exactamente el error que esa pelea introdujo en la suma. drift() acumula
+ * esas diferencias (LongAdder) y es siempre 0 con una estrategia correcta; con
+ * una estrategia con carreras ("unsafe") deja de serlo en la misma pelea que
+ * rompe el invariante, y se emite una DriftAlert a los listeners.
+ *
+ * Además cada inmortal lleva un libro (ledger) atómico de lo que ganó y perdió
+ * en peleas. Un auditor en segundo plano toma parejas al azar cada intervalo
+ * y compara salud contra salud inicial + ledger (lectura consistente, ver
+ * Immortal.ledgerMismatch()); una diferencia también genera alerta. Ambos chequeos son O(1) por pelea
+ * o por muestra, sin recorrer la población.
+ */
+public final class InvariantChecker {
+  /** Parejas que el auditor revisa en cada intervalo. */
+  static final int PAIRS_PER_AUDIT = 8;
+
+  private final LongAdder drift = new LongAdder();
+  private final LongAdder alerts = new LongAdder();
+  private final LongAdder audited = new LongAdder();
+  private final List<Consumer<DriftAlert>> listeners = new CopyOnWriteArrayList<>();
+  private final Duration auditEvery;
+  private Thread auditor;
+
+  /**
+   * @param auditEvery intervalo entre muestras del auditor
+   */
+  public InvariantChecker(Duration auditEvery) { this.auditEvery = auditEvery; }
+
+  /**
+   * Suscribe un listener a las alertas. Se invoca en el hilo que detectó la
+   * deriva (el de la pelea o el del auditor), así que debe ser rápido.
+   *
+   * @param listener consumidor de alertas
+   */
+  public void addListener(Consumer<DriftAlert> listener) { listeners.add(listener); }
+
+  /**
+   * Error acumulado de la suma de salud: total actual - N * H, mantenido pelea a pelea.
+   *
+   * @return 0 si ninguna pelea perdió una actualización
+   */
+  public long drift() { return drift.sum(); }
+
+  public long alerts() { return alerts.sum(); }
+
+  /**
+   * Inmortales revisados por el auditor hasta ahora.
+   *
+   * @return cantidad de muestras
+   */
+  public long audited() { return audited.sum(); }
+
+  /** Llamado por Immortal cuando una escritura pisó una actualización concurrente. */
+  void fightDrift(Immortal attacker, Immortal defender, int delta) {
+    drift.add(delta);
+    raise(new DriftAlert(DriftAlert.Source.FIGHT, attacker.getId(), defender.getId(), delta));
+  }
+
+  private void raise(DriftAlert alert) {
+    alerts.increment();
+    for (Consumer<DriftAlert> l : listeners) l.accept(alert);
+  }
+
+  /**
+   * Inicia el auditor en un hilo virtual.
+   *
+   * @param roster población a muestrear
+   */
+  synchronized void start(List<Immortal> roster) {
+    if (auditor != null || roster.size() < 2) return;
+    auditor = Thread.ofVirtual().name("invariant-auditor").start(() -> audit(roster));
+  }
+
+  /** Detiene el auditor y espera a que termine. */
+  synchronized void stop() {
+    if (auditor == null) return;
+    auditor.interrupt();
+    try {
+      auditor.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    auditor = null;
+  }
+
+  private void audit(List<Immortal> roster) {
+    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        Thread.sleep(auditEvery);
+        for (int p = 0; p < PAIRS_PER_AUDIT; p++) {
+          int a = rnd.nextInt(roster.size());
+          int b = rnd.nextInt(roster.size() - 1);
+          if (b >= a) b++;
+          auditOne(roster.get(a), roster.get(b));
+          auditOne(roster.get(b), roster.get(a));
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void auditOne(Immortal im, Immortal pairedWith) {
+    audited.increment();
+    int mismatch = im.ledgerMismatch();
+    if (mismatch != 0) raise(new DriftAlert(DriftAlert.Source.AUDIT, im.getId(), pairedWith.getId(), mismatch));
+  }
+
+  /**
+   * Alerta de deriva del invariante.
+   *
+   * @param source quién la detectó: la pelea misma o el auditor
+   * @param immortalId atacante (FIGHT) o inmortal auditado (AUDIT)
+   * @param otherId defensor (FIGHT) o el otro inmortal de la pareja muestreada (AUDIT)
+   * @param drift error introducido en la suma de salud
+   */
+  public record DriftAlert(Source source, int immortalId, int otherId, long drift) {
+    /** Origen de la alerta. */
+    public enum Source { FIGHT, AUDIT }
+  }
+}
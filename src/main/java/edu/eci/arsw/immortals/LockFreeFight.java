@@ -0,0 +1,16 @@
+package edu.eci.arsw.immortals;
+
+/**
+ * Pelea sin locks: transferencia de salud con CAS.
+ *
+ * No hay monitores ni locks, así que no puede haber deadlock ni hilos
+ * estacionados por contención; los conflictos se resuelven reintentando el
+ * CAS sobre la salud del defensor. Ver Immortal.applyFightLockFree().
+ */
+final class LockFreeFight implements FightStrategy {
+  @Override public void fight(Immortal attacker, Immortal defender) {
+    attacker.settle(defender, attacker.applyFightLockFree(defender));
+  }
+
+  @Override public String name() { return "lockfree"; }
+}
@@ -0,0 +1,82 @@
+package edu.eci.arsw.immortals;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Buzón acotado de ataques de un inmortal (estrategia "actor").
+ *
+ * Cola de arreglo circular con muchos productores (los atacantes) y un único
+ * consumidor (el dueño), sin locks: un productor reserva una posición con
+ * CAS sobre tail, solo si la cola no está llena, y luego publica el mensaje
+ * en esa posición. El consumidor avanza head en orden; si encuentra una
+ * posición reservada pero todavía sin publicar, corta el lote y la retoma en
+ * el siguiente drain. Cuando está llena, offer() falla en vez de bloquear:
+ * es la contrapresión hacia el atacante, y no puede haber deadlock entre dos
+ * inmortales que se atacan con los buzones llenos.
+ */
+final class Mailbox {
+  private final AtomicReferenceArray<Immortal> slots;
+  private final int capacity;
+  private final AtomicLong tail = new AtomicLong();
+  /** Siguiente posición a consumir; solo la escribe el dueño. */
+  private volatile long head;
+
+  /**
+   * @param capacity mensajes que caben sin consumir
+   * @throws IllegalArgumentException si capacity no es positiva
+   */
+  Mailbox(int capacity) {
+    if (capacity <= 0) throw new IllegalArgumentException("mailbox capacity must be positive: " + capacity);
+    this.capacity = capacity;
+    this.slots = new AtomicReferenceArray<>(capacity);
+  }
+
+  int capacity() { return capacity; }
+
+  /**
+   * Encola un ataque de attacker, sin bloquear.
+   *
+   * @param attacker inmortal que ataca
+   * @return false si el buzón está lleno
+   */
+  boolean offer(Immortal attacker) {
+    long t;
+    do {
+      t = tail.get();
+      if (t - head >= capacity) return false;
+    } while (!tail.compareAndSet(t, t + 1));
+    slots.lazySet((int) (t % capacity), attacker);
+    return true;
+  }
+
+  /**
+   * Consume hasta max mensajes publicados, en orden. Solo lo llama el dueño.
+   *
+   * @param max tamaño máximo del lote
+   * @param handler acción por cada atacante
+   * @return mensajes consumidos
+   */
+  int drain(int max, Consumer<Immortal> handler) {
+    long h = head;
+    int n = 0;
+    while (n < max) {
+      int i = (int) (h % capacity);
+      Immortal attacker = slots.get(i);
+      if (attacker == null) break;
+      slots.lazySet(i, null);
+      head = ++h;
+      n++;
+      handler.accept(attacker);
+    }
+    return n;
+  }
+
+  /**
+   * Mensajes reservados y todavía no consumidos.
+   *
+   * @return tamaño aproximado del buzón
+   */
+  int size() { return (int) Math.max(0, tail.get() - head); }
+}
@@ -0,0 +1,25 @@
+package edu.eci.arsw.immortals;
+
+/**
+ * Pelea con monitores anidados en orden variable (this -&gt; other).
+ *
+ * PUNTO 6 DEL ENUNCIADO: Demostración de deadlock potencial.
+ * El orden de adquisición varía según quién ataca a quién. Si dos inmortales
+ * se atacan simultáneamente:
+ * - Thread A: lock(A) -&gt; espera lock(B)
+ * - Thread B: lock(B) -&gt; espera lock(A)
+ * Resultado: deadlock circular.
+ */
+final class NaiveFight implements FightStrategy {
+  @Override public void fight(Immortal attacker, Immortal defender) {
+    FightOutcome outcome;
+    synchronized (attacker) {
+      synchronized (defender) {
+        outcome = attacker.applyFight(defender);
+      }
+    }
+    attacker.settle(defender, outcome);
+  }
+
+  @Override public String name() { return "naive"; }
+}
@@ -0,0 +1,133 @@
+package edu.eci.arsw.immortals;
+
+import edu.eci.arsw.concurrency.ExecutorPolicy;
+import edu.eci.arsw.concurrency.Pacer;
+import edu.eci.arsw.concurrency.PauseController;
+import edu.eci.arsw.concurrency.Quiescence;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+
+/**
+ * Simulación sobre un OffHeapPopulation, sin un objeto por inmortal.
+ *
+ * Equivalente a ImmortalManager con un pool fijo y SliceDriver, pero los
+ * inmortales son ids: cada worker atiende los ids w, w + W, w + 2W... y en
+ * cada paso elige un oponente del índice de vivos y pelea con
+ * OffHeapPopulation.transfer() (CAS, como lockfree/packed). Con el
+ * checkpoint de pausa antes de cada paso, Pause &amp; Check funciona igual: con
+ * los workers pausados la suma es N * H.
+ *
+ * De SimulationConfig usa initialHealth, damage, pacing (una vez por vuelta
+ * de cada worker, como SliceDriver), executor (número de workers) y seed (un
+ * generador por worker); la estrategia de pelea es siempre CAS.
+ */
+public final class OffHeapArena implements ArenaSimulation {
+  private final OffHeapPopulation population;
+  private final PauseController controller = new PauseController();
+  private final LongAdder fights = new LongAdder();
+  private final SimulationConfig config;
+  private final ExecutorPolicy policy;
+  private final Pacer pacer;
+  private final SplittableRandom seeds;
+  private ExecutorService exec;
+  private volatile boolean running;
+
+  /**
+   * @param n número de inmortales (ids 0..n-1)
+   * @param config parámetros de la simulación
+   * @throws IllegalArgumentException si n no está en 1..OffHeapPopulation.MAX_SIZE
+   */
+  public OffHeapArena(int n, SimulationConfig config) {
+    this.config = config;
+    this.population = new OffHeapPopulation(n, config.initialHealth(), config.damage());
+    this.policy = ExecutorPolicy.parse(config.executor());
+    this.pacer = Pacer.parse(config.pacing(), controller);
+    this.seeds = config.seed() != 0 ? new SplittableRandom(config.seed()) : null;
+  }
+
+  public OffHeapPopulation population() { return population; }
+
+  public PauseController controller() { return controller; }
+
+  /**
+   * Lanza min(parallelism, n) workers en el executor de la política. Si ya
+   * hay una simulación en curso, la detiene antes.
+   */
+  @Override public synchronized void start() {
+    if (exec != null) stop();
+    running = true;
+    exec = policy.newExecutor();
+    int workers = Math.min(policy.parallelism(), population.size());
+    for (int w = 0; w < workers; w++) {
+      RandomGenerator random = seeds != null ? seeds.split() : null;
+      int first = w;
+      exec.submit(() -> work(first, workers, random));
+    }
+  }
+
+  /** Vuelta tras vuelta sobre sus ids hasta que no le queden vivos o se detenga la arena. */
+  private void work(int first, int stride, RandomGenerator seeded) {
+    RandomGenerator random = seeded != null ? seeded : ThreadLocalRandom.current();
+    controller.register();
+    try {
+      boolean active = true;
+      while (running && active) {
+        active = false;
+        for (int id = first; id < population.size() && running; id += stride) {
+          controller.awaitIfPaused();
+          if (!population.isAlive(id)) continue;
+          int other = population.sampleOther(id, random);
+          if (other < 0) return;
+          active = true;
+          if (population.transfer(id, other) != FightOutcome.SKIPPED) fights.increment();
+        }
+        pacer.pace();
+      }
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+    } finally {
+      controller.deregister();
+    }
+  }
+
+  @Override public void pause() { controller.pause(); }
+
+  @Override public void resume() { controller.resume(); }
+
+  @Override public Quiescence awaitPaused(long timeoutMs) throws InterruptedException {
+    return controller.waitUntilQuiescent(timeoutMs);
+  }
+
+  /**
+   * Detiene los workers y espera hasta 5 segundos a que terminen.
+   */
+  @Override public void stop() {
+    running = false;
+    if (exec != null) {
+      exec.shutdownNow();
+      try {
+        if (!exec.awaitTermination(5, TimeUnit.SECONDS)) {
+          System.err.println("Warning: Some arena workers did not terminate in time");
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      exec = null;
+    }
+  }
+
+  @Override public long totalFights() { return fights.sum(); }
+
+  @Override public long totalHealth() { return population.totalHealth(); }
+
+  @Override public long expectedTotalHealth() { return (long) population.size() * config.initialHealth(); }
+
+  @Override public int aliveCount() { return population.aliveCount(); }
+
+  @Override public void close() { stop(); }
+}
@@ -0,0 +1,235 @@
+package edu.eci.arsw.immortals;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.random.RandomGenerator;
+
+/**
+ * Población completa fuera del heap, como struct-of-arrays indexado por id.
+ *
+ * Un Immortal es un objeto con nombre, referencias a población, marcador,
+ * controlador, estrategia y locks: un millón ocupa cientos de MB dispersos en
+ * el heap. Aquí un inmortal es solo un id 0..N-1 y sus campos viven en
+ * ByteBuffer directos contiguos, un arreglo por campo: salud, daño,
+ * victorias, muertes causadas, bit de vivo, y el índice de vivos (miembros y
+ * slots, el mismo swap-remove de Population). Son unos 24 bytes por inmortal
+ * (10M ≈ 240 MB, sin presión sobre el GC); bytesPerImmortal() da el valor exacto.
+ *
+ * Se usan ByteBuffer directos y VarHandle (MethodHandles.byteBufferViewVarHandle)
+ * en vez de MemorySegment, que en Java 21 sigue en preview. Los accesos son
+ * volatile/CAS sobre posiciones alineadas de 4 bytes, con la misma semántica
+ * que PackedHealthTable. Cada arreglo está limitado a 2 GB (ByteBuffer), así
+ * que N &lt;= MAX_SIZE.
+ *
+ * La memoria se libera cuando el GC recolecta los ByteBuffer; el límite lo
+ * fija -XX:MaxDirectMemorySize (por defecto igual a -Xmx).
+ */
+public final class OffHeapPopulation {
+  /** Máximo de inmortales: un arreglo de int por campo dentro de un ByteBuffer. */
+  public static final int MAX_SIZE = Integer.MAX_VALUE / Integer.BYTES;
+
+  private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+  private final int size;
+  private final ByteBuffer health;
+  private final ByteBuffer damage;
+  private final ByteBuffer wins;
+  private final ByteBuffer kills;
+  /** Un bit por inmortal; se apaga una sola vez, en la pelea que lo mata. */
+  private final ByteBuffer aliveBits;
+  private final ByteBuffer members;
+  private final ByteBuffer slots;
+  private final StampedLock guard = new StampedLock();
+  private int aliveCount;
+
+  /**
+   * Crea N inmortales vivos con la misma salud y daño.
+   *
+   * @param size número de inmortales (ids 0..size-1)
+   * @param initialHealth salud inicial de cada uno
+   * @param damage daño por ataque de cada uno
+   * @throws IllegalArgumentException si size no está en 1..MAX_SIZE
+   */
+  public OffHeapPopulation(int size, int initialHealth, int damage) {
+    if (size <= 0 || size > MAX_SIZE) throw new IllegalArgumentException("size must be in 1.." + MAX_SIZE + ": " + size);
+    this.size = size;
+    this.health = ints(size);
+    this.damage = ints(size);
+    this.wins = ints(size);
+    this.kills = ints(size);
+    this.aliveBits = ints((size + 31) >>> 5);
+    this.members = ints(size);
+    this.slots = ints(size);
+    for (int id = 0; id < size; id++) {
+      health.putInt(id << 2, initialHealth);
+      this.damage.putInt(id << 2, damage);
+      members.putInt(id << 2, id);
+      slots.putInt(id << 2, id);
+    }
+    for (int w = 0; w < (size + 31) >>> 5; w++) aliveBits.putInt(w << 2, -1);
+    this.aliveCount = size;
+  }
+
+  private static ByteBuffer ints(int count) { return ByteBuffer.allocateDirect(count * Integer.BYTES).order(ByteOrder.nativeOrder()); }
+
+  /**
+   * Memoria fuera del heap por inmortal, sumando todos los arreglos.
+   *
+   * @return bytes por inmortal
+   */
+  public static double bytesPerImmortal() { return 6 * Integer.BYTES + 1.0 / Byte.SIZE; }
+
+  public int size() { return size; }
+
+  /**
+   * Bytes reservados fuera del heap por esta población.
+   *
+   * @return capacidad total de los ByteBuffer directos
+   */
+  public long offHeapBytes() {
+    return (long) health.capacity() + damage.capacity() + wins.capacity() + kills.capacity()
+      + aliveBits.capacity() + members.capacity() + slots.capacity();
+  }
+
+  public int health(int id) { return (int) INT.getVolatile(health, checked(id) << 2); }
+
+  public int damage(int id) { return damage.getInt(checked(id) << 2); }
+
+  public int wins(int id) { return (int) INT.getVolatile(wins, checked(id) << 2); }
+
+  public int kills(int id) { return (int) INT.getVolatile(kills, checked(id) << 2); }
+
+  /**
+   * Verifica si el inmortal sigue vivo (no lo mató ninguna pelea).
+   *
+   * @param id inmortal a consultar
+   * @return true si está vivo
+   */
+  public boolean isAlive(int id) {
+    checked(id);
+    return ((int) INT.getVolatile(aliveBits, (id >>> 5) << 2) & (1 << id)) != 0;
+  }
+
+  private int checked(int id) {
+    if (id < 0 || id >= size) throw new IndexOutOfBoundsException("id " + id + " out of 0.." + (size - 1));
+    return id;
+  }
+
+  /**
+   * Número de inmortales vivos, con lectura optimista.
+   *
+   * @return cantidad de vivos
+   */
+  public int aliveCount() {
+    long stamp = guard.tryOptimisticRead();
+    int n = aliveCount;
+    if (!guard.validate(stamp)) {
+      stamp = guard.readLock();
+      try { n = aliveCount; } finally { guard.unlockRead(stamp); }
+    }
+    return n;
+  }
+
+  /**
+   * Suma de la salud de todos (recorrido secuencial de un arreglo contiguo).
+   *
+   * PUNTO 1 DEL ENUNCIADO: con las peleas pausadas debe ser N * H.
+   *
+   * @return suma de la salud
+   */
+  public long totalHealth() {
+    long sum = 0;
+    for (int id = 0; id < size; id++) sum += (int) INT.getVolatile(health, id << 2);
+    return sum;
+  }
+
+  /**
+   * Pelea sin locks: suma al atacante el daño con CAS y se lo quita al
+   * defensor con CAS.
+   *
+   * Igual que PackedHealthTable.transfer(): primero se acredita al atacante,
+   * solo si sigue con salud y con su bit de vivo, así un atacante muerto en
+   * el medio nunca recupera salud; luego se descuenta al defensor solo si
+   * sigue con salud. Si el defensor murió entre ambos pasos se le devuelve el
+   * crédito al atacante, y si eso lo deja sin salud se apaga su bit y sale
+   * del índice (sin contar muerte para nadie). N * H se preserva. La pelea
+   * que apaga el bit de vivo de un inmortal es la única que lo saca del índice.
+   *
+   * @param attacker id del atacante
+   * @param defender id del defensor
+   * @return resultado de la pelea
+   */
+  FightOutcome transfer(int attacker, int defender) {
+    if (!isAlive(attacker) || !isAlive(defender)) return FightOutcome.SKIPPED;
+    int dmg = damage.getInt(attacker << 2);
+    int a;
+    do {
+      a = (int) INT.getVolatile(health, attacker << 2);
+      if (a <= 0 || !isAlive(attacker)) return FightOutcome.SKIPPED;
+    } while (!INT.compareAndSet(health, attacker << 2, a, a + dmg));
+    int h;
+    do {
+      h = (int) INT.getVolatile(health, defender << 2);
+      if (h <= 0) {
+        if ((int) INT.getAndAdd(health, attacker << 2, -dmg) - dmg <= 0 && markDead(attacker)) remove(attacker);
+        return FightOutcome.SKIPPED;
+      }
+    } while (!INT.compareAndSet(health, defender << 2, h, h - dmg));
+    INT.getAndAdd(wins, attacker << 2, 1);
+    if (h - dmg > 0 || !markDead(defender)) return FightOutcome.HIT;
+    INT.getAndAdd(kills, attacker << 2, 1);
+    remove(defender);
+    return FightOutcome.KILL;
+  }
+
+  /** Apaga el bit de vivo; true solo para quien lo apagó (el único que debe sacarlo del índice). */
+  private boolean markDead(int id) {
+    int previous = (int) INT.getAndBitwiseAnd(aliveBits, (id >>> 5) << 2, ~(1 << id));
+    return (previous & (1 << id)) != 0;
+  }
+
+  /** Swap-remove del índice de vivos en O(1), bajo el write lock. */
+  private void remove(int id) {
+    long stamp = guard.writeLock();
+    try {
+      int slot = slots.getInt(id << 2);
+      int last = members.getInt(--aliveCount << 2);
+      members.putInt(slot << 2, last);
+      slots.putInt(last << 2, slot);
+      slots.putInt(id << 2, -1);
+    } finally { guard.unlockWrite(stamp); }
+  }
+
+  /**
+   * Elige un vivo al azar distinto de self, en O(1) (ver Population.sampleOther).
+   *
+   * @param self id que no debe ser elegido
+   * @param random generador del hilo que llama
+   * @return id de un oponente vivo, o -1 si no hay otros vivos
+   */
+  public int sampleOther(int self, RandomGenerator random) {
+    long stamp = guard.tryOptimisticRead();
+    int other = pick(self, random);
+    if (!guard.validate(stamp)) {
+      stamp = guard.readLock();
+      try { other = pick(self, random); }
+      finally { guard.unlockRead(stamp); }
+    }
+    return other;
+  }
+
+  /** Lectura sin lock: el resultado solo vale si el stamp sigue válido. */
+  private int pick(int self, RandomGenerator random) {
+    int n = aliveCount;
+    int skip = slots.getInt(self << 2);
+    boolean selfLive = skip >= 0 && skip < n && members.getInt(skip << 2) == self;
+    int candidates = selfLive ? n - 1 : n;
+    if (candidates <= 0) return -1;
+    int i = random.nextInt(candidates);
+    if (selfLive && i >= skip) i++;
+    return members.getInt(i << 2);
+  }
+}
@@ -0,0 +1,33 @@
+package edu.eci.arsw.immortals;
+
+/**
+ * Pelea con monitores adquiridos en orden total para prevenir deadlocks.
+ *
+ * PUNTO 6 y 8 DEL ENUNCIADO: Estrategia de orden consistente.
+ * Determina el orden de adquisición ANTES de bloquear, comparando los ids
+ * numéricos (una comparación de int, no de cadenas "Immortal-N" carácter a
+ * carácter, y en orden numérico). Los ids deben ser únicos dentro de la
+ * población, como los asigna ImmortalManager. Todos los hilos adquieren los
+ * locks en el mismo orden global, eliminando ciclos de dependencia.
+ *
+ * Ejemplo:
+ * - Thread A (Immortal-0 vs Immortal-1): lock(0) -&gt; lock(1)
+ * - Thread B (Immortal-1 vs Immortal-0): lock(0) -&gt; lock(1) [mismo orden]
+ * No hay ciclo = no hay deadlock.
+ */
+final class OrderedFight implements FightStrategy {
+  @Override public void fight(Immortal attacker, Immortal defender) {
+    boolean attackerFirst = attacker.getId() < defender.getId();
+    Immortal first = attackerFirst ? attacker : defender;
+    Immortal second = attackerFirst ? defender : attacker;
+    FightOutcome outcome;
+    synchronized (first) {
+      synchronized (second) {
+        outcome = attacker.applyFight(defender);
+      }
+    }
+    attacker.settle(defender, outcome);
+  }
+
+  @Override public String name() { return "ordered"; }
+}
@@ -0,0 +1,25 @@
+package edu.eci.arsw.immortals;
+
+/**
+ * Motor de pelea sin locks sobre un PackedHealthTable.
+ *
+ * La salud de cada inmortal vive en la tabla (por id) y no en el objeto;
+ * una pelea es una transferencia CAS de dos partes que preserva N * H.
+ * Requiere ids densos 0..N-1, por eso se crea con el tamaño de la población
+ * (FightStrategy.forName(name, size), lo hace ImmortalManager).
+ */
+final class PackedHealthFight implements FightStrategy {
+  private final PackedHealthTable table;
+
+  PackedHealthFight(int populationSize) { this.table = new PackedHealthTable(populationSize); }
+
+  PackedHealthTable table() { return table; }
+
+  @Override public void fight(Immortal attacker, Immortal defender) {
+    FightOutcome outcome = table.transfer(attacker.getId(), defender.getId(), attacker.getDamage());
+    if (outcome != FightOutcome.SKIPPED) attacker.logFight(defender);
+    attacker.settle(defender, outcome);
+  }
+
+  @Override public String name() { return "packed"; }
+}
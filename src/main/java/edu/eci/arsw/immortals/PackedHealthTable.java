@@ -0,0 +1,70 @@
+package edu.eci.arsw.immortals;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Salud de toda la población en un AtomicLongArray indexado por id.
+ *
+ * Cada posición empaqueta (versión &lt;&lt; 32 | salud) en un long: la salud y
+ * un contador de escrituras se leen y actualizan juntos con un solo CAS. La
+ * versión evita ABA y permite detectar escrituras concurrentes al leer.
+ * Los datos quedan contiguos en memoria en lugar de dispersos en cada Immortal.
+ */
+final class PackedHealthTable {
+  private final AtomicLongArray state;
+
+  PackedHealthTable(int size) { state = new AtomicLongArray(size); }
+
+  int size() { return state.length(); }
+
+  void init(int id, int health) { state.set(id, pack(0, health)); }
+
+  int health(int id) { return (int) state.get(id); }
+
+  long version(int id) { return state.get(id) >>> 32; }
+
+  /**
+   * Transferencia de dos partes con CAS: suma damage al atacante y lo quita
+   * al defensor.
+   *
+   * Primero se acredita al atacante con CAS solo si sigue vivo, así un
+   * atacante muerto nunca recupera salud; luego se descuenta al defensor con
+   * CAS solo si sigue vivo. Si el defensor murió entre ambos pasos se le
+   * devuelve el crédito al atacante (que puede quedar sin salud: lo quita de
+   * Population Immortal.settle()). Entre ambos pasos la suma total está
+   * desfasada en damage, pero nunca en un checkpoint de pausa, porque la
+   * pelea completa ocurre entre dos checkpoints del mismo hilo.
+   *
+   * @param attacker id del atacante
+   * @param defender id del defensor
+   * @param damage salud transferida
+   * @return resultado de la pelea
+   */
+  FightOutcome transfer(int attacker, int defender, int damage) {
+    long a;
+    do {
+      a = state.get(attacker);
+      if ((int) a <= 0) return FightOutcome.SKIPPED;
+    } while (!state.compareAndSet(attacker, a, pack((a >>> 32) + 1, (int) a + damage)));
+    long d;
+    int h;
+    do {
+      d = state.get(defender);
+      h = (int) d;
+      if (h <= 0) {
+        add(attacker, -damage);
+        return FightOutcome.SKIPPED;
+      }
+    } while (!state.compareAndSet(defender, d, pack((d >>> 32) + 1, h - damage)));
+    return h - damage <= 0 ? FightOutcome.KILL : FightOutcome.HIT;
+  }
+
+  private void add(int id, int delta) {
+    long v;
+    do {
+      v = state.get(id);
+    } while (!state.compareAndSet(id, v, pack((v >>> 32) + 1, (int) v + delta)));
+  }
+
+  private static long pack(long version, int health) { return (version << 32) | (health & 0xFFFF_FFFFL); }
+}
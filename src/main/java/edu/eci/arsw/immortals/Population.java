@@ -0,0 +1,164 @@
+package edu.eci.arsw.immortals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.StampedLock;
+import java.util.random.RandomGenerator;
+
+/**
+ * Índice de inmortales vivos con muestreo aleatorio O(1) y remoción O(1).
+ *
+ * PUNTO 10 DEL ENUNCIADO: Remover inmortales muertos sin sincronización global.
+ * Los vivos se guardan en un arreglo compacto; cada inmortal conoce su
+ * posición (slot). Remover es un swap-remove: el último ocupa el hueco, así
+ * que no hay corrimientos ni copias como en CopyOnWriteArrayList.
+ *
+ * Las lecturas (muestreo, tamaño) usan lectura optimista de StampedLock:
+ * no bloquean ni escriben memoria compartida, y solo reintentan con read lock
+ * si una remoción concurrente invalidó el stamp. Las escrituras (agregar,
+ * remover) son poco frecuentes y toman el write lock por O(1).
+ */
+public final class Population {
+  private final StampedLock guard = new StampedLock();
+  private Immortal[] members;
+  private int size;
+
+  public Population() { this(16); }
+
+  /**
+   * @param initialCapacity capacidad inicial del arreglo
+   */
+  public Population(int initialCapacity) { members = new Immortal[Math.max(1, initialCapacity)]; }
+
+  /**
+   * Agrega un inmortal vivo al índice.
+   *
+   * @param im inmortal a agregar
+   * @throws IllegalArgumentException si ya pertenece al índice
+   */
+  public void add(Immortal im) {
+    Objects.requireNonNull(im);
+    long stamp = guard.writeLock();
+    try {
+      if (im.slot >= 0) throw new IllegalArgumentException(im.getName() + " already in population");
+      if (size == members.length) members = Arrays.copyOf(members, size * 2);
+      members[size] = im;
+      im.slot = size++;
+    } finally { guard.unlockWrite(stamp); }
+  }
+
+  /**
+   * Remueve un inmortal (muerto) del índice en O(1).
+   *
+   * Idempotente: si ya fue removido retorna false.
+   *
+   * @param im inmortal a remover
+   * @return true si estaba en el índice
+   */
+  public boolean remove(Immortal im) {
+    long stamp = guard.writeLock();
+    try {
+      int slot = im.slot;
+      if (slot < 0 || slot >= size || members[slot] != im) return false;
+      Immortal last = members[--size];
+      members[slot] = last;
+      last.slot = slot;
+      members[size] = null;
+      im.slot = -1;
+      return true;
+    } finally { guard.unlockWrite(stamp); }
+  }
+
+  /**
+   * Elige un inmortal vivo al azar distinto de self, en O(1) y sin reintentos.
+   *
+   * Si self está en el índice se sortea entre los size-1 restantes saltando
+   * su slot; si no está (ya murió) se sortea entre todos.
+   *
+   * @param self inmortal que no debe ser elegido
+   * @return un oponente vivo, o null si no hay otros vivos
+   */
+  public Immortal sampleOther(Immortal self) { return sampleOther(self, ThreadLocalRandom.current()); }
+
+  /**
+   * Elige un oponente con un generador dado (modo determinista con semilla).
+   *
+   * Con la misma población y el mismo generador, la secuencia de oponentes es
+   * reproducible. Si la lectura optimista se invalida se vuelve a sortear, así
+   * que una remoción concurrente puede consumir un valor extra del generador.
+   *
+   * @param self inmortal que no debe ser elegido
+   * @param random generador a usar (no se comparte entre hilos)
+   * @return un oponente vivo, o null si no hay otros vivos
+   */
+  public Immortal sampleOther(Immortal self, RandomGenerator random) {
+    long stamp = guard.tryOptimisticRead();
+    Immortal other = pick(self, random);
+    if (!guard.validate(stamp)) {
+      stamp = guard.readLock();
+      try { other = pick(self, random); }
+      finally { guard.unlockRead(stamp); }
+    }
+    return other;
+  }
+
+  /** Lectura sin lock: el resultado solo vale si el stamp sigue válido. */
+  private Immortal pick(Immortal self, RandomGenerator random) {
+    Immortal[] snapshot = members;
+    int n = Math.min(size, snapshot.length);
+    int skip = self.slot;
+    boolean selfLive = skip >= 0 && skip < n && snapshot[skip] == self;
+    int candidates = selfLive ? n - 1 : n;
+    if (candidates <= 0) return null;
+    int i = random.nextInt(candidates);
+    if (selfLive && i >= skip) i++;
+    return snapshot[i];
+  }
+
+  /**
+   * Verifica si el inmortal sigue en el índice de vivos.
+   *
+   * @param im inmortal a consultar
+   * @return true si está en el índice
+   */
+  public boolean contains(Immortal im) {
+    long stamp = guard.tryOptimisticRead();
+    int slot = im.slot;
+    boolean found = slot >= 0 && slot < size && members[slot] == im;
+    if (!guard.validate(stamp)) {
+      stamp = guard.readLock();
+      try { slot = im.slot; found = slot >= 0 && slot < size && members[slot] == im; }
+      finally { guard.unlockRead(stamp); }
+    }
+    return found;
+  }
+
+  /**
+   * Número de inmortales vivos en el índice.
+   *
+   * @return cantidad de vivos
+   */
+  public int size() {
+    long stamp = guard.tryOptimisticRead();
+    int n = size;
+    if (!guard.validate(stamp)) {
+      stamp = guard.readLock();
+      try { n = size; } finally { guard.unlockRead(stamp); }
+    }
+    return n;
+  }
+
+  /**
+   * Copia de los vivos en el momento de la llamada (orden no especificado).
+   *
+   * @return lista nueva con los inmortales vivos
+   */
+  public List<Immortal> toList() {
+    long stamp = guard.readLock();
+    try { return new ArrayList<>(Arrays.asList(members).subList(0, size)); }
+    finally { guard.unlockRead(stamp); }
+  }
+}
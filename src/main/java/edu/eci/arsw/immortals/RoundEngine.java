@@ -0,0 +1,100 @@
+package edu.eci.arsw.immortals;
+
+import edu.eci.arsw.concurrency.Pacer;
+import edu.eci.arsw.concurrency.PauseController;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Motor de peleas por rondas (ExecutionMode.ROUNDS).
+ *
+ * Un solo hilo conductor arma cada ronda: copia los vivos, los baraja
+ * (Fisher-Yates) y empareja posiciones consecutivas (0 ataca a 1, 2 a 3...).
+ * Como cada inmortal aparece en a lo sumo una pareja, las peleas de una ronda
+ * son disjuntas y se ejecutan en paralelo en un ForkJoinPool (work-stealing,
+ * partición recursiva en lotes de PAIRS_PER_TASK) sin ningún lock por
+ * inmortal. El invoke() del pool da la relación happens-before entre rondas.
+ *
+ * La pausa y el Pacer se aplican entre rondas: el conductor es el único hilo
+ * registrado en el PauseController, y con la pausa activa no arranca la
+ * siguiente ronda.
+ */
+final class RoundEngine implements Runnable {
+  private static final int PAIRS_PER_TASK = 512;
+
+  private final Population alive;
+  private final PauseController controller;
+  private final Pacer pacer;
+  private final ForkJoinPool pool;
+  private final RandomGenerator seeded;
+  private volatile boolean running = true;
+
+  /**
+   * @param alive índice de vivos del que se arma cada ronda
+   * @param controller controlador de pausa compartido
+   * @param pacer ritmo entre rondas
+   * @param pool pool donde se ejecutan las peleas
+   * @param seeded generador para barajar, o null para ThreadLocalRandom
+   */
+  RoundEngine(Population alive, PauseController controller, Pacer pacer, ForkJoinPool pool, RandomGenerator seeded) {
+    this.alive = alive;
+    this.controller = controller;
+    this.pacer = pacer;
+    this.pool = pool;
+    this.seeded = seeded;
+  }
+
+  void stop() { running = false; }
+
+  @Override public void run() {
+    controller.register();
+    try {
+      RandomGenerator random = seeded != null ? seeded : ThreadLocalRandom.current();
+      while (running) {
+        controller.awaitIfPaused();
+        if (!running) break;
+        Immortal[] round = alive.toList().toArray(new Immortal[0]);
+        if (round.length < 2) break;
+        shuffle(round, random);
+        pool.invoke(new Batch(round, 0, round.length / 2));
+        pacer.pace();
+      }
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+    } finally {
+      controller.deregister();
+    }
+  }
+
+  private static void shuffle(Immortal[] a, RandomGenerator random) {
+    for (int i = a.length - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      Immortal t = a[i]; a[i] = a[j]; a[j] = t;
+    }
+  }
+
+  /** Rango [from, to) de parejas de una ronda; la pareja p es (2p, 2p+1). */
+  private static final class Batch extends RecursiveAction {
+    private final Immortal[] round;
+    private final int from;
+    private final int to;
+
+    Batch(Immortal[] round, int from, int to) {
+      this.round = round;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override protected void compute() {
+      if (to - from <= PAIRS_PER_TASK) {
+        for (int p = from; p < to; p++) round[2 * p].fightExclusive(round[2 * p + 1]);
+        return;
+      }
+      int mid = (from + to) >>> 1;
+      invokeAll(new Batch(round, from, mid), new Batch(round, mid, to));
+    }
+  }
+}
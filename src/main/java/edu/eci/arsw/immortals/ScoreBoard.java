@@ -1,9 +1,160 @@
 package edu.eci.arsw.immortals;
 
-import java.util.concurrent.atomic.AtomicLong;
+import edu.eci.arsw.metrics.LatencyHistogram;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Marcador global de peleas.
+ *
+ * El total usa LongAdder (contador con celdas por hilo): cada pelea suma en
+ * una celda distinta bajo contención, en vez de que todos los hilos peleen por
+ * la misma línea de caché de un AtomicLong. Leer el total suma las celdas, lo
+ * cual es barato para la frecuencia con que la UI consulta.
+ *
+ * Opcionalmente (-Dstats=true en ImmortalManager) lleva victorias, derrotas y
+ * muertes por inmortal, (-Dlatency=true) un histograma de latencia por pelea y
+ * (-Dfightlog=N) una FightLog con las peleas aplicadas para repetirlas.
+ *
+ * Las estadísticas por inmortal se indexan por su id: con el tamaño de la
+ * población conocido (ids densos de ImmortalManager) en un arreglo, sin hash;
+ * si no, en un mapa por id.
+ */
 public final class ScoreBoard {
-  private final AtomicLong totalFights = new AtomicLong();
-  public void recordFight() { totalFights.incrementAndGet(); }
-  public long totalFights() { return totalFights.get(); }
+  private final LongAdder totalFights = new LongAdder();
+  private final boolean perImmortalStats;
+  /** Contadores por id denso, o null si no se conoce el tamaño de la población. */
+  private final Counters[] byId;
+  /** Contadores de ids fuera de byId, o null si no se registran estadísticas. */
+  private final Map<Integer, Counters> perImmortal;
+  private final LatencyHistogram latency;
+  private final FightLog fightLog;
+
+  public ScoreBoard() { this(false); }
+
+  /**
+   * @param perImmortalStats true para registrar victorias/derrotas/muertes por inmortal
+   */
+  public ScoreBoard(boolean perImmortalStats) { this(perImmortalStats, false); }
+
+  /**
+   * @param perImmortalStats true para registrar victorias/derrotas/muertes por inmortal
+   * @param recordLatency true para registrar la latencia de cada pelea
+   */
+  public ScoreBoard(boolean perImmortalStats, boolean recordLatency) { this(perImmortalStats, recordLatency, 0); }
+
+  /**
+   * @param perImmortalStats true para registrar victorias/derrotas/muertes por inmortal
+   * @param recordLatency true para registrar la latencia de cada pelea
+   * @param fightLogCapacity peleas a guardar en la bitácora (0 = sin bitácora)
+   */
+  public ScoreBoard(boolean perImmortalStats, boolean recordLatency, int fightLogCapacity) {
+    this(perImmortalStats, recordLatency, fightLogCapacity, 0);
+  }
+
+  /**
+   * @param perImmortalStats true para registrar victorias/derrotas/muertes por inmortal
+   * @param recordLatency true para registrar la latencia de cada pelea
+   * @param fightLogCapacity peleas a guardar en la bitácora (0 = sin bitácora)
+   * @param populationSize tamaño de la población con ids densos 0..populationSize-1 (0 = desconocido)
+   */
+  public ScoreBoard(boolean perImmortalStats, boolean recordLatency, int fightLogCapacity, int populationSize) {
+    this.perImmortalStats = perImmortalStats;
+    this.byId = perImmortalStats && populationSize > 0 ? new Counters[populationSize] : null;
+    if (byId != null) for (int i = 0; i < byId.length; i++) byId[i] = new Counters();
+    this.perImmortal = perImmortalStats ? new ConcurrentHashMap<>() : null;
+    this.latency = recordLatency ? new LatencyHistogram() : null;
+    this.fightLog = fightLogCapacity > 0 ? new FightLog(fightLogCapacity) : null;
+  }
+
+  public void recordFight() { totalFights.increment(); }
+
+  /**
+   * Registra una pelea exitosa con su ganador y perdedor.
+   *
+   * @param winner atacante que ganó la pelea
+   * @param loser defensor que perdió salud
+   * @param kill true si el defensor murió en esta pelea
+   */
+  public void recordFight(Immortal winner, Immortal loser, boolean kill) {
+    totalFights.increment();
+    if (!perImmortalStats) return;
+    Counters w = counters(winner.getId());
+    w.wins.increment();
+    if (kill) w.kills.increment();
+    counters(loser.getId()).losses.increment();
+  }
+
+  public long totalFights() { return totalFights.sum(); }
+
+  public boolean tracksPerImmortal() { return perImmortalStats; }
+
+  public boolean recordsLatency() { return latency != null; }
+
+  /**
+   * Registra la duración de una pelea (incluye la espera por los locks).
+   *
+   * @param nanos duración en nanosegundos
+   */
+  public void recordLatency(long nanos) { if (latency != null) latency.record(nanos); }
+
+  /**
+   * Histograma de latencia por pelea.
+   *
+   * @return el histograma, o null si no se registra latencia
+   */
+  public LatencyHistogram latency() { return latency; }
+
+  /**
+   * Bitácora de peleas aplicadas.
+   *
+   * @return la bitácora, o null si no se registran peleas
+   */
+  public FightLog fightLog() { return fightLog; }
+
+  /**
+   * Estadísticas acumuladas de un inmortal.
+   *
+   * @param im inmortal a consultar
+   * @return victorias, derrotas y muertes (ceros si no se registran estadísticas)
+   */
+  public Stats statsOf(Immortal im) { return statsOf(im.getId()); }
+
+  /**
+   * Estadísticas acumuladas del inmortal con el id dado.
+   *
+   * @param id id del inmortal
+   * @return victorias, derrotas y muertes (ceros si no se registran estadísticas)
+   */
+  public Stats statsOf(int id) {
+    if (!perImmortalStats) return Stats.EMPTY;
+    Counters c = byId != null && id >= 0 && id < byId.length ? byId[id] : perImmortal.get(id);
+    if (c == null) return Stats.EMPTY;
+    return new Stats(c.wins.sum(), c.losses.sum(), c.kills.sum());
+  }
+
+  private Counters counters(int id) {
+    if (byId != null && id >= 0 && id < byId.length) return byId[id];
+    Counters c = perImmortal.get(id);
+    return c != null ? c : perImmortal.computeIfAbsent(id, k -> new Counters());
+  }
+
+  private static final class Counters {
+    final LongAdder wins = new LongAdder();
+    final LongAdder losses = new LongAdder();
+    final LongAdder kills = new LongAdder();
+  }
+
+  /**
+   * Estadísticas de un inmortal en el momento de la lectura.
+   *
+   * @param wins peleas ganadas como atacante
+   * @param losses peleas perdidas como defensor
+   * @param kills oponentes eliminados
+   */
+  public record Stats(long wins, long losses, long kills) {
+    static final Stats EMPTY = new Stats(0, 0, 0);
+  }
 }
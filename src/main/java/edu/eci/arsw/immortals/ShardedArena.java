@@ -0,0 +1,399 @@
+package edu.eci.arsw.immortals;
+
+import edu.eci.arsw.concurrency.ExecutorPolicy;
+import edu.eci.arsw.concurrency.Pacer;
+import edu.eci.arsw.concurrency.PauseController;
+import edu.eci.arsw.concurrency.Quiescence;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+
+/**
+ * Arena particionada: cada worker es dueño de un shard (un rango contiguo de
+ * ids) y solo él escribe su salud y su índice de vivos.
+ *
+ * En OffHeapArena cualquiera pelea con cualquiera, así que toda la salud es
+ * compartida y las líneas de caché viajan entre núcleos en cada pelea. Aquí
+ * la mayoría de las peleas son locales al shard: escrituras simples sobre
+ * arreglos del dueño, sin CAS ni locks. Una fracción crossShardRatio ataca a
+ * un inmortal de otro shard mediante mensajes:
+ * <ol>
+ *   <li>el atacante encola ATAQUE(atacante, defensor) al shard del defensor;</li>
+ *   <li>el dueño de ese shard, al vaciar su cola, descuenta el daño si el
+ *       defensor sigue vivo y encola CRÉDITO(atacante, defensor) de vuelta;</li>
+ *   <li>el dueño del atacante suma el daño si el atacante sigue vivo. Si murió
+ *       entretanto no se le acredita (un muerto nunca recupera salud): encola
+ *       DEVOLUCIÓN(defensor, daño) al shard del defensor, que le devuelve el
+ *       daño y, si con eso vuelve a tener salud, lo reincorpora a los vivos
+ *       (la pelea queda anulada).</li>
+ * </ol>
+ * Los mensajes se agrupan en lotes de hasta BATCH por destino antes de
+ * publicarlos en la ConcurrentLinkedQueue del destino, así que el tráfico
+ * entre núcleos es un encolado por lote y no por pelea.
+ *
+ * PUNTO 1 DEL ENUNCIADO: entre el paso 2 y el 3 el daño está "en tránsito".
+ * inTransit lleva esa suma (se incrementa al descontar y se decrementa al
+ * acreditar o al aplicar la devolución), y totalHealth() = salud de todos los shards + inTransit, que
+ * con los workers pausados es exactamente N * H.
+ */
+public final class ShardedArena implements ArenaSimulation {
+  /** Mensajes por lote antes de publicarlo en la cola del shard destino. */
+  static final int BATCH = 256;
+  private static final long IDLE_PARK_NANOS = 100_000;
+
+  private final int size;
+  private final int initialHealth;
+  private final int damage;
+  private final double crossShardRatio;
+  private final Shard[] shards;
+  private final PauseController controller = new PauseController();
+  private final LongAdder fights = new LongAdder();
+  private final LongAdder crossShardFights = new LongAdder();
+  private final LongAdder inTransit = new LongAdder();
+  private final ExecutorPolicy policy;
+  private final Pacer pacer;
+  private final SplittableRandom seeds;
+  private ExecutorService exec;
+  private volatile boolean running;
+
+  /**
+   * Reparte ids 0..n-1 en min(parallelism, n) shards contiguos, uno por worker.
+   *
+   * @param n número de inmortales
+   * @param config parámetros (initialHealth, damage, pacing, executor y seed, como OffHeapArena)
+   * @param crossShardRatio fracción de peleas contra otro shard, en [0, 1]
+   * @throws IllegalArgumentException si n no es positivo o crossShardRatio está fuera de [0, 1]
+   */
+  public ShardedArena(int n, SimulationConfig config, double crossShardRatio) {
+    if (n <= 0) throw new IllegalArgumentException("n must be positive: " + n);
+    if (!(crossShardRatio >= 0 && crossShardRatio <= 1)) {
+      throw new IllegalArgumentException("crossShardRatio must be in [0, 1]: " + crossShardRatio);
+    }
+    this.size = n;
+    this.initialHealth = config.initialHealth();
+    this.damage = config.damage();
+    this.crossShardRatio = crossShardRatio;
+    this.policy = ExecutorPolicy.parse(config.executor());
+    this.pacer = Pacer.parse(config.pacing(), controller);
+    this.seeds = config.seed() != 0 ? new SplittableRandom(config.seed()) : null;
+    int k = Math.min(policy.parallelism(), n);
+    this.shards = new Shard[k];
+    for (int s = 0; s < k; s++) {
+      int from = (int) ((long) s * n / k);
+      int to = (int) ((long) (s + 1) * n / k);
+      shards[s] = new Shard(from, to - from, initialHealth);
+    }
+  }
+
+  public int shardCount() { return shards.length; }
+
+  public long crossShardFights() { return crossShardFights.sum(); }
+
+  /**
+   * Daño descontado a un defensor y todavía no acreditado a su atacante.
+   *
+   * @return salud en tránsito entre shards
+   */
+  public long inTransit() { return inTransit.sum(); }
+
+  /**
+   * Salud de un inmortal; solo es consistente con los workers pausados o detenidos.
+   *
+   * @param id id del inmortal
+   * @return salud actual
+   */
+  public int health(int id) {
+    Shard s = shardOf(id);
+    return s.health[id - s.base];
+  }
+
+  /**
+   * Si el inmortal sigue en el índice de vivos de su shard; solo es
+   * consistente con los workers pausados o detenidos.
+   *
+   * @param id id del inmortal
+   * @return true si está vivo
+   */
+  public boolean isAlive(int id) {
+    Shard s = shardOf(id);
+    return s.slots[id - s.base] >= 0;
+  }
+
+  private Shard shardOf(int id) {
+    if (id < 0 || id >= size) throw new IndexOutOfBoundsException("id " + id + " out of 0.." + (size - 1));
+    return shards[shardIndexOf(id)];
+  }
+
+  /** Los shards son rangos de tamaño casi igual: se estima y se corrige a lo sumo un paso. */
+  private int shardIndexOf(int id) {
+    int s = (int) ((long) id * shards.length / size);
+    while (id < shards[s].base) s--;
+    while (s + 1 < shards.length && id >= shards[s + 1].base) s++;
+    return s;
+  }
+
+  @Override public synchronized void start() {
+    if (exec != null) stop();
+    running = true;
+    exec = policy.newExecutor();
+    for (int s = 0; s < shards.length; s++) exec.submit(new Worker(s, seeds != null ? seeds.split() : null));
+  }
+
+  @Override public void pause() { controller.pause(); }
+
+  @Override public void resume() { controller.resume(); }
+
+  @Override public Quiescence awaitPaused(long timeoutMs) throws InterruptedException {
+    return controller.waitUntilQuiescent(timeoutMs);
+  }
+
+  @Override public void stop() {
+    running = false;
+    if (exec != null) {
+      exec.shutdownNow();
+      try {
+        if (!exec.awaitTermination(5, TimeUnit.SECONDS)) {
+          System.err.println("Warning: Some shard workers did not terminate in time");
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      exec = null;
+    }
+  }
+
+  @Override public long totalFights() { return fights.sum(); }
+
+  /**
+   * Salud de todos los shards más la que está en tránsito.
+   *
+   * Los arreglos de cada shard se escriben sin sincronización; la barrera de
+   * pausa (o stop()) publica esas escrituras, así que el valor solo es exacto
+   * con los workers pausados o detenidos.
+   *
+   * @return suma de la salud, N * H si el invariante se mantiene
+   */
+  @Override public long totalHealth() {
+    long sum = inTransit.sum();
+    for (Shard s : shards) for (int h : s.health) sum += h;
+    return sum;
+  }
+
+  @Override public long expectedTotalHealth() { return (long) size * initialHealth; }
+
+  @Override public int aliveCount() {
+    int n = 0;
+    for (Shard s : shards) n += s.alive;
+    return n;
+  }
+
+  @Override public void close() { stop(); }
+
+  /** Estado de un shard; salvo las colas y alive, solo lo toca su worker. */
+  private static final class Shard {
+    final int base;
+    final int[] health;
+    /** Vivos del shard (ids globales) en las posiciones 0..alive-1; swap-remove como Population. */
+    final int[] members;
+    /** Posición de cada id local en members, -1 si murió. */
+    final int[] slots;
+    volatile int alive;
+    final ConcurrentLinkedQueue<int[]> attacks = new ConcurrentLinkedQueue<>();
+    final ConcurrentLinkedQueue<int[]> credits = new ConcurrentLinkedQueue<>();
+    final ConcurrentLinkedQueue<int[]> refunds = new ConcurrentLinkedQueue<>();
+
+    Shard(int base, int count, int initialHealth) {
+      this.base = base;
+      this.health = new int[count];
+      this.members = new int[count];
+      this.slots = new int[count];
+      Arrays.fill(health, initialHealth);
+      for (int i = 0; i < count; i++) {
+        members[i] = base + i;
+        slots[i] = i;
+      }
+      this.alive = count;
+    }
+
+    void kill(int id) {
+      int slot = slots[id - base];
+      int last = members[--alive];
+      members[slot] = last;
+      slots[last - base] = slot;
+      slots[id - base] = -1;
+    }
+
+    /** Devuelve al índice de vivos un id que kill() había sacado. */
+    void revive(int id) {
+      members[alive] = id;
+      slots[id - base] = alive;
+      alive++;
+    }
+  }
+
+  /** Dueño de un shard: vacía su buzón, pelea una vuelta y publica sus lotes salientes. */
+  private final class Worker implements Runnable {
+    private final int index;
+    private final Shard shard;
+    private final RandomGenerator seeded;
+    private final int[][] attackOut;
+    private final int[] attackLen;
+    private final int[][] creditOut;
+    private final int[] creditLen;
+    private final int[][] refundOut;
+    private final int[] refundLen;
+
+    Worker(int index, RandomGenerator seeded) {
+      this.index = index;
+      this.shard = shards[index];
+      this.seeded = seeded;
+      this.attackOut = new int[shards.length][2 * BATCH];
+      this.attackLen = new int[shards.length];
+      this.creditOut = new int[shards.length][2 * BATCH];
+      this.creditLen = new int[shards.length];
+      this.refundOut = new int[shards.length][2 * BATCH];
+      this.refundLen = new int[shards.length];
+    }
+
+    @Override public void run() {
+      RandomGenerator random = seeded != null ? seeded : ThreadLocalRandom.current();
+      controller.register();
+      try {
+        while (running) {
+          controller.awaitIfPaused();
+          boolean busy = drain();
+          busy |= round(random);
+          flush();
+          if (busy) pacer.pace(); else LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+      } finally {
+        controller.deregister();
+      }
+    }
+
+    /** Aplica los ataques, créditos y devoluciones recibidos; true si había alguno. */
+    private boolean drain() {
+      boolean any = false;
+      int[] batch;
+      while ((batch = shard.attacks.poll()) != null) {
+        any = true;
+        long debited = 0;
+        for (int i = 0; i < batch.length; i += 2) {
+          int attacker = batch[i];
+          int defender = batch[i + 1];
+          int local = defender - shard.base;
+          if (shard.slots[local] < 0) continue;
+          int h = shard.health[local];
+          shard.health[local] = h - damage;
+          debited += damage;
+          send(creditOut, creditLen, shardIndexOf(attacker), attacker, defender);
+          fights.increment();
+          crossShardFights.increment();
+          if (h - damage <= 0) shard.kill(defender);
+        }
+        inTransit.add(debited);
+      }
+      while ((batch = shard.credits.poll()) != null) {
+        any = true;
+        long credited = 0;
+        for (int i = 0; i < batch.length; i += 2) {
+          int local = batch[i] - shard.base;
+          if (shard.slots[local] < 0) {
+            send(refundOut, refundLen, shardIndexOf(batch[i + 1]), batch[i + 1], damage);
+            continue;
+          }
+          shard.health[local] += damage;
+          credited += damage;
+        }
+        inTransit.add(-credited);
+      }
+      while ((batch = shard.refunds.poll()) != null) {
+        any = true;
+        long refunded = 0;
+        for (int i = 0; i < batch.length; i += 2) {
+          int local = batch[i] - shard.base;
+          int h = shard.health[local] + batch[i + 1];
+          shard.health[local] = h;
+          refunded += batch[i + 1];
+          if (h > 0 && shard.slots[local] < 0) shard.revive(batch[i]);
+        }
+        inTransit.add(-refunded);
+      }
+      return any;
+    }
+
+    /** Cada vivo del shard pelea una vez; true si quedaba alguno. */
+    private boolean round(RandomGenerator random) throws InterruptedException {
+      if (shard.alive == 0) return false;
+      for (int i = 0; i < shard.alive; i++) {
+        controller.awaitIfPaused();
+        int attacker = shard.members[i];
+        int n = shard.alive;
+        boolean cross = shards.length > 1 && (n == 1 || random.nextDouble() < crossShardRatio);
+        if (cross) {
+          attackRemote(attacker, random);
+          continue;
+        }
+        if (n == 1) break;
+        int j = random.nextInt(n - 1);
+        if (j >= i) j++;
+        int defender = shard.members[j];
+        int local = defender - shard.base;
+        int h = shard.health[local];
+        shard.health[local] = h - damage;
+        shard.health[attacker - shard.base] += damage;
+        fights.increment();
+        if (h - damage <= 0) shard.kill(defender);
+      }
+      return true;
+    }
+
+    /**
+     * Encola un ataque a un vivo de otro shard. members y alive del destino
+     * se leen sin sincronización: el id puede estar ya muerto, y entonces su
+     * dueño descarta el ataque.
+     */
+    private void attackRemote(int attacker, RandomGenerator random) {
+      int dst = random.nextInt(shards.length - 1);
+      if (dst >= index) dst++;
+      Shard target = shards[dst];
+      int n = target.alive;
+      if (n == 0) return;
+      int defender = target.members[random.nextInt(n)];
+      send(attackOut, attackLen, dst, attacker, defender);
+    }
+
+    private void send(int[][] out, int[] len, int dst, int a, int b) {
+      int[] buf = out[dst];
+      int n = len[dst];
+      buf[n] = a;
+      buf[n + 1] = b;
+      len[dst] = n + 2;
+      if (n + 2 == buf.length) publish(out, len, dst);
+    }
+
+    private void flush() {
+      for (int dst = 0; dst < shards.length; dst++) {
+        if (attackLen[dst] > 0) publish(attackOut, attackLen, dst);
+        if (creditLen[dst] > 0) publish(creditOut, creditLen, dst);
+        if (refundLen[dst] > 0) publish(refundOut, refundLen, dst);
+      }
+    }
+
+    private void publish(int[][] out, int[] len, int dst) {
+      int[] batch = Arrays.copyOf(out[dst], len[dst]);
+      len[dst] = 0;
+      Shard target = shards[dst];
+      (out == attackOut ? target.attacks : out == creditOut ? target.credits : target.refunds).add(batch);
+    }
+  }
+}
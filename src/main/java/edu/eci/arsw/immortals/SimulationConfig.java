@@ -0,0 +1,101 @@
+package edu.eci.arsw.immortals;
+
+/**
+ * Parámetros de una simulación de inmortales.
+ *
+ * Agrupa las opciones de ImmortalManager para no multiplicar constructores.
+ * defaults() toma los valores de las propiedades del sistema (-Dfight,
+ * -Dhealth, -Ddamage, -Dstats, -Dlatency, -Dpacing, -Dseed, -Dfightlog,
+ * -Dexecution, -Dexecutor, -Dsnapshots, -Daudit) igual que el resto del lab; los métodos with* devuelven una
+ * copia con un solo valor cambiado.
+ *
+ * @param fightMode estrategia de pelea ("naive", "ordered", "stamped", "trylock", "lockfree", "packed" o "unsafe");
+ *        en ROUNDS no se usan locks y solo importa si es "packed" (dónde vive la salud)
+ * @param initialHealth salud inicial de cada inmortal
+ * @param damage daño por ataque
+ * @param perImmortalStats registrar victorias/derrotas/muertes por inmortal
+ * @param recordLatency registrar la latencia de cada pelea en el ScoreBoard
+ * @param pacing ritmo entre peleas: "none", "fixed:MS", "exp:MS" o "rate:PELEAS_POR_SEGUNDO"
+ * @param seed semilla de los generadores por inmortal (0 = sin semilla, ThreadLocalRandom)
+ * @param fightLogCapacity peleas a registrar en la FightLog (0 = sin bitácora)
+ * @param execution un hilo por inmortal (THREADS) o rondas de parejas disjuntas (ROUNDS)
+ * @param executor política de hilos: "virtual", "platform[:N]" o "forkjoin[:N]" (ver ExecutorPolicy)
+ * @param snapshots habilitar snapshots consistentes sin pausa (ImmortalManager.snapshot())
+ * @param auditEveryMs verificación incremental del invariante con un auditor cada estos ms (0 = apagada,
+ *        ver InvariantChecker)
+ */
+public record SimulationConfig(String fightMode, int initialHealth, int damage,
+                               boolean perImmortalStats, boolean recordLatency, String pacing,
+                               long seed, int fightLogCapacity, ExecutionMode execution, String executor,
+                               boolean snapshots, long auditEveryMs) {
+
+  /**
+   * Configuración por defecto desde propiedades del sistema.
+   *
+   * @return configuración con -Dfight, -Dhealth, -Ddamage, -Dstats, -Dlatency, -Dpacing,
+   *         -Dseed, -Dfightlog, -Dexecution, -Dexecutor, -Dsnapshots y -Daudit
+   */
+  public static SimulationConfig defaults() {
+    return new SimulationConfig(
+      System.getProperty("fight", "ordered"),
+      Integer.getInteger("health", 100),
+      Integer.getInteger("damage", 10),
+      Boolean.getBoolean("stats"),
+      Boolean.getBoolean("latency"),
+      System.getProperty("pacing", "fixed:2"),
+      Long.getLong("seed", 0),
+      Integer.getInteger("fightlog", 0),
+      ExecutionMode.forName(System.getProperty("execution", "threads")),
+      System.getProperty("executor", "virtual"),
+      Boolean.getBoolean("snapshots"),
+      Long.getLong("audit", 0));
+  }
+
+  public SimulationConfig withFightMode(String fightMode) {
+    return new SimulationConfig(fightMode, initialHealth, damage, perImmortalStats, recordLatency, pacing, seed, fightLogCapacity, execution, executor, snapshots, auditEveryMs);
+  }
+
+  public SimulationConfig withHealth(int initialHealth) {
+    return new SimulationConfig(fightMode, initialHealth, damage, perImmortalStats, recordLatency, pacing, seed, fightLogCapacity, execution, executor, snapshots, auditEveryMs);
+  }
+
+  public SimulationConfig withDamage(int damage) {
+    return new SimulationConfig(fightMode, initialHealth, damage, perImmortalStats, recordLatency, pacing, seed, fightLogCapacity, execution, executor, snapshots, auditEveryMs);
+  }
+
+  public SimulationConfig withPerImmortalStats(boolean perImmortalStats) {
+    return new SimulationConfig(fightMode, initialHealth, damage, perImmortalStats, recordLatency, pacing, seed, fightLogCapacity, execution, executor, snapshots, auditEveryMs);
+  }
+
+  public SimulationConfig withRecordLatency(boolean recordLatency) {
+    return new SimulationConfig(fightMode, initialHealth, damage, perImmortalStats, recordLatency, pacing, seed, fightLogCapacity, execution, executor, snapshots, auditEveryMs);
+  }
+
+  public SimulationConfig withPacing(String pacing) {
+    return new SimulationConfig(fightMode, initialHealth, damage, perImmortalStats, recordLatency, pacing, seed, fightLogCapacity, execution, executor, snapshots, auditEveryMs);
+  }
+
+  public SimulationConfig withSeed(long seed) {
+    return new SimulationConfig(fightMode, initialHealth, damage, perImmortalStats, recordLatency, pacing, seed, fightLogCapacity, execution, executor, snapshots, auditEveryMs);
+  }
+
+  public SimulationConfig withFightLogCapacity(int fightLogCapacity) {
+    return new SimulationConfig(fightMode, initialHealth, damage, perImmortalStats, recordLatency, pacing, seed, fightLogCapacity, execution, executor, snapshots, auditEveryMs);
+  }
+
+  public SimulationConfig withExecution(ExecutionMode execution) {
+    return new SimulationConfig(fightMode, initialHealth, damage, perImmortalStats, recordLatency, pacing, seed, fightLogCapacity, execution, executor, snapshots, auditEveryMs);
+  }
+
+  public SimulationConfig withExecutor(String executor) {
+    return new SimulationConfig(fightMode, initialHealth, damage, perImmortalStats, recordLatency, pacing, seed, fightLogCapacity, execution, executor, snapshots, auditEveryMs);
+  }
+
+  public SimulationConfig withSnapshots(boolean snapshots) {
+    return new SimulationConfig(fightMode, initialHealth, damage, perImmortalStats, recordLatency, pacing, seed, fightLogCapacity, execution, executor, snapshots, auditEveryMs);
+  }
+
+  public SimulationConfig withAuditEveryMs(long auditEveryMs) {
+    return new SimulationConfig(fightMode, initialHealth, damage, perImmortalStats, recordLatency, pacing, seed, fightLogCapacity, execution, executor, snapshots, auditEveryMs);
+  }
+}
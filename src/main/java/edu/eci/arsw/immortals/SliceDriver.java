@@ -0,0 +1,53 @@
+package edu.eci.arsw.immortals;
+
+import edu.eci.arsw.concurrency.Pacer;
+import edu.eci.arsw.concurrency.PauseController;
+
+import java.util.List;
+
+/**
+ * Hilo de un pool de tamaño fijo que atiende una porción de los inmortales.
+ *
+ * Con ExecutorPolicy PLATFORM o FORKJOIN hay menos hilos que inmortales, así
+ * que Immortal.run() (un ciclo que no termina) dejaría sin hilo a la mayoría.
+ * Cada driver recorre sus inmortales llamando Immortal.step() una vez por
+ * vuelta, con el checkpoint de pausa antes de cada paso y el Pacer una vez
+ * por vuelta: cada inmortal pelea una vez cada vuelta, como si esperara el
+ * pacing entre peleas. Los que terminan se quitan de la porción (swap-remove)
+ * y el driver sale cuando no le queda ninguno.
+ */
+final class SliceDriver implements Runnable {
+  private final Immortal[] slice;
+  private final PauseController controller;
+  private final Pacer pacer;
+
+  /**
+   * @param slice inmortales que atiende este driver (solo él los ejecuta)
+   * @param controller controlador de pausa compartido
+   * @param pacer ritmo entre vueltas
+   */
+  SliceDriver(List<Immortal> slice, PauseController controller, Pacer pacer) {
+    this.slice = slice.toArray(new Immortal[0]);
+    this.controller = controller;
+    this.pacer = pacer;
+  }
+
+  @Override public void run() {
+    controller.register();
+    try {
+      int active = slice.length;
+      while (active > 0) {
+        for (int i = 0; i < active; ) {
+          controller.awaitIfPaused();
+          if (slice[i].step()) { i++; continue; }
+          slice[i] = slice[--active];
+        }
+        pacer.pace();
+      }
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+    } finally {
+      controller.deregister();
+    }
+  }
+}
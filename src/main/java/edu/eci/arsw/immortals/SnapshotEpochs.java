@@ -0,0 +1,80 @@
+package edu.eci.arsw.immortals;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Snapshots consistentes de la salud sin detener la simulación (epoch + copy-on-fight).
+ *
+ * Cada pelea con locks (Immortal.applyFight, con exclusión sobre ambos) lee la
+ * época global al entrar y, antes de la primera escritura de cada participante
+ * en esa época, guarda su salud previa (snapHealth, snapEpoch). Tomar un
+ * snapshot es un corte: se incrementa la época y se esperan solo las peleas
+ * que siguen en curso con la época anterior (duran lo que applyFight, no hay
+ * esperas de locks adentro). Después, la salud de cada inmortal en el corte es
+ * su copia guardada si ya peleó en la nueva época, o su salud actual si no.
+ *
+ * Como las épocas de las peleas sobre un mismo inmortal son monótonas en el
+ * orden de sus locks, cada pelea queda entera antes o entera después del
+ * corte: la suma del snapshot es exactamente N * H mientras las peleas siguen.
+ *
+ * Las peleas en curso se cuentan en dos contadores atómicos exactos (paridad
+ * de la época). Al entrar se incrementa el de la época leída y se vuelve a
+ * leer la época (patrón de Dekker), para que el lector no pueda perder una
+ * pelea que leyó la época vieja justo antes del corte. No sirve un LongAdder:
+ * sum() recorre sus celdas sin una foto atómica y puede leer 0 mientras una
+ * pelea de la época vieja sigue adentro.
+ */
+final class SnapshotEpochs {
+  private static final int SPINS_BEFORE_YIELD = 64;
+  private static final int PAD = 8;
+
+  private volatile long epoch;
+  /** Peleas en curso por paridad de época, en posiciones separadas por una línea de caché. */
+  private final AtomicLongArray active = new AtomicLongArray(2 * PAD);
+
+  /**
+   * Registra una pelea en la época actual.
+   *
+   * @return época de la pelea (pasarla a exit)
+   */
+  long enter() {
+    for (;;) {
+      long e = epoch;
+      int slot = slot(e);
+      active.incrementAndGet(slot);
+      if (epoch == e) return e;
+      active.decrementAndGet(slot);
+    }
+  }
+
+  void exit(long e) { active.decrementAndGet(slot(e)); }
+
+  private static int slot(long e) { return (int) (e & 1) * PAD; }
+
+  /**
+   * Toma un snapshot consistente de los inmortales dados.
+   *
+   * Los snapshots se serializan entre sí; las peleas no se detienen.
+   *
+   * @param roster todos los inmortales (ids densos 0..N-1)
+   * @return salud de cada inmortal en el corte
+   */
+  synchronized HealthSnapshot take(List<Immortal> roster) {
+    long start = System.nanoTime();
+    long cut = epoch + 1;
+    epoch = cut;
+    int previous = slot(cut - 1);
+    for (int spins = 0; active.get(previous) != 0; spins++) {
+      if (spins < SPINS_BEFORE_YIELD) Thread.onSpinWait(); else Thread.yield();
+    }
+    int[] health = new int[roster.size()];
+    long total = 0;
+    for (Immortal im : roster) {
+      int h = im.healthAt(cut);
+      health[im.getId()] = h;
+      total += h;
+    }
+    return new HealthSnapshot(cut, health, total, System.nanoTime() - start);
+  }
+}
@@ -0,0 +1,34 @@
+package edu.eci.arsw.immortals;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Pelea con orden total de locks sobre java.util.concurrent.locks, sin monitores.
+ *
+ * PUNTO 6 y 8 DEL ENUNCIADO: Misma prevención de deadlock que "ordered"
+ * (ambos locks en orden global, aquí por id), pero con el write lock del
+ * StampedLock de cada inmortal en vez de synchronized. En JDK 21 un hilo
+ * virtual que espera un monitor queda fijado (pinned) a su carrier; esperar un
+ * lock de java.util.concurrent.locks estaciona el hilo virtual y libera el
+ * carrier, así que unos pocos inmortales muy disputados no bloquean a todos.
+ *
+ * Como los escritores toman el write lock, Immortal.getHealth() lee la salud
+ * con lectura optimista (tryOptimisticRead + validate) sin bloquear ni fijar.
+ */
+final class StampedOrderedFight implements FightStrategy {
+  @Override public void fight(Immortal attacker, Immortal defender) {
+    boolean attackerFirst = attacker.getId() < defender.getId();
+    StampedLock first = (attackerFirst ? attacker : defender).guard();
+    StampedLock second = (attackerFirst ? defender : attacker).guard();
+    FightOutcome outcome;
+    long s1 = first.writeLock();
+    try {
+      long s2 = second.writeLock();
+      try { outcome = attacker.applyFight(defender); }
+      finally { second.unlockWrite(s2); }
+    } finally { first.unlockWrite(s1); }
+    attacker.settle(defender, outcome);
+  }
+
+  @Override public String name() { return "stamped"; }
+}
@@ -0,0 +1,45 @@
+package edu.eci.arsw.immortals;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pelea con tryLock + timeout y reintentos con backoff aleatorio.
+ *
+ * PUNTO 8 DEL ENUNCIADO: Estrategia alternativa al orden total.
+ * Nunca se espera el segundo lock teniendo el primero: si no está libre se
+ * suelta todo y se reintenta tras un backoff aleatorio creciente, así que no
+ * hay deadlock. Tras MAX_ATTEMPTS intentos la pelea se abandona (el
+ * invariante no se afecta porque no se modificó nada).
+ */
+final class TryLockFight implements FightStrategy {
+  private static final int MAX_ATTEMPTS = 8;
+  private static final long FIRST_LOCK_WAIT_MICROS = 100;
+  private static final long BASE_BACKOFF_NANOS = 1_000;
+
+  @Override public void fight(Immortal attacker, Immortal defender) throws InterruptedException {
+    ReentrantLock a = attacker.lock();
+    ReentrantLock b = defender.lock();
+    for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+      if (a.tryLock(FIRST_LOCK_WAIT_MICROS, TimeUnit.MICROSECONDS)) {
+        FightOutcome outcome = null;
+        try {
+          if (b.tryLock()) {
+            try { outcome = attacker.applyFight(defender); }
+            finally { b.unlock(); }
+          }
+        } finally { a.unlock(); }
+        if (outcome != null) {
+          attacker.settle(defender, outcome);
+          return;
+        }
+      }
+      LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(BASE_BACKOFF_NANOS << attempt) + 1);
+      if (Thread.interrupted()) throw new InterruptedException();
+    }
+  }
+
+  @Override public String name() { return "trylock"; }
+}
@@ -0,0 +1,19 @@
+package edu.eci.arsw.immortals;
+
+/**
+ * Pelea sin ninguna sincronización: lee, cede el procesador y escribe.
+ *
+ * PUNTO 1 DEL ENUNCIADO: Demostración de la condición de carrera.
+ * Dos peleas concurrentes sobre el mismo inmortal pueden leer la misma salud
+ * y la última escritura pisa a la primera (actualización perdida), así que la
+ * suma total se aleja de N * H. Sirve para ver a InvariantChecker (-Daudit)
+ * detectar la deriva en la misma pelea que la produce. Ver
+ * Immortal.applyFightUnsynchronized().
+ */
+final class UnsafeFight implements FightStrategy {
+  @Override public void fight(Immortal attacker, Immortal defender) {
+    attacker.settle(defender, attacker.applyFightUnsynchronized(defender));
+  }
+
+  @Override public String name() { return "unsafe"; }
+}
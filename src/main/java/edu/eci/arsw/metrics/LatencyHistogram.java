@@ -0,0 +1,79 @@
+package edu.eci.arsw.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latencias concurrente con buckets log-lineales.
+ *
+ * Cada potencia de dos se divide en 16 sub-buckets, así que el error relativo
+ * de un percentil es menor a 1/16 (~6%) con memoria fija (1024 contadores),
+ * sin asignar objetos en record(). Pensado para registrar la latencia de cada
+ * pelea desde muchos hilos y leer percentiles periódicamente.
+ */
+public final class LatencyHistogram {
+  private static final int SUB_BITS = 4;
+  private static final int SUB_COUNT = 1 << SUB_BITS;
+  private final AtomicLongArray counts = new AtomicLongArray(64 << SUB_BITS);
+
+  /**
+   * Registra una muestra.
+   *
+   * @param nanos latencia en nanosegundos (valores negativos cuentan como 0)
+   */
+  public void record(long nanos) { counts.incrementAndGet(indexOf(Math.max(0, nanos))); }
+
+  /**
+   * Número total de muestras registradas.
+   *
+   * @return cantidad de muestras
+   */
+  public long count() {
+    long c = 0;
+    for (int i = 0; i < counts.length(); i++) c += counts.get(i);
+    return c;
+  }
+
+  /**
+   * Percentil aproximado (cota superior del bucket).
+   *
+   * @param p percentil entre 0 y 100, p. ej. 50 o 99.9
+   * @return latencia en nanosegundos, o 0 si no hay muestras
+   */
+  public long percentile(double p) {
+    if (p < 0 || p > 100) throw new IllegalArgumentException("percentile must be in [0, 100]: " + p);
+    long[] snapshot = new long[counts.length()];
+    long total = 0;
+    for (int i = 0; i < snapshot.length; i++) { snapshot[i] = counts.get(i); total += snapshot[i]; }
+    if (total == 0) return 0;
+    long rank = Math.max(1, (long) Math.ceil(p / 100.0 * total));
+    long seen = 0;
+    for (int i = 0; i < snapshot.length; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) return highestValueIn(i);
+    }
+    return highestValueIn(snapshot.length - 1);
+  }
+
+  /** Reinicia todos los contadores (no atómico respecto a record concurrentes). */
+  public void reset() {
+    for (int i = 0; i < counts.length(); i++) counts.set(i, 0);
+  }
+
+  static int indexOf(long v) {
+    if (v < SUB_COUNT) return (int) v;
+    int exp = 63 - Long.numberOfLeadingZeros(v);
+    int sub = (int) ((v >>> (exp - SUB_BITS)) & (SUB_COUNT - 1));
+    return ((exp - SUB_BITS + 1) << SUB_BITS) + sub;
+  }
+
+  static long lowestValueIn(int index) {
+    int row = index >>> SUB_BITS;
+    int sub = index & (SUB_COUNT - 1);
+    return row == 0 ? sub : (long) (SUB_COUNT + sub) << (row - 1);
+  }
+
+  static long highestValueIn(int index) {
+    // la última fila alcanzable (exponente 62) no tiene siguiente bucket representable
+    return (index + 1) >>> SUB_BITS > 63 - SUB_BITS ? Long.MAX_VALUE : lowestValueIn(index + 1) - 1;
+  }
+}
@@ -0,0 +1,68 @@
+package edu.eci.arsw.metrics;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cuenta con JFR los eventos jdk.VirtualThreadPinned del propio proceso.
+ *
+ * Un hilo virtual queda fijado (pinned) a su carrier cuando se bloquea
+ * dentro de un bloque synchronized o de código nativo: el carrier no puede
+ * atender a otros hilos virtuales mientras tanto. JFR emite el evento cuando
+ * la espera fijada supera el umbral configurado. El monitor abre un
+ * RecordingStream en memoria (sin archivo .jfr) y acumula cantidad y
+ * duración total de los eventos, para comparar políticas de ejecución.
+ */
+public final class PinningMonitor implements AutoCloseable {
+  /** Nombre del evento JFR de pinning (JDK 21+). */
+  public static final String EVENT = "jdk.VirtualThreadPinned";
+
+  private final RecordingStream stream = new RecordingStream();
+  private final LongAdder events = new LongAdder();
+  private final LongAdder pinnedNanos = new LongAdder();
+
+  /**
+   * Crea e inicia el monitor.
+   *
+   * @param threshold duración mínima de una espera fijada para reportarla
+   */
+  public PinningMonitor(Duration threshold) {
+    stream.enable(EVENT).withThreshold(threshold);
+    stream.onEvent(EVENT, this::onPinned);
+    stream.startAsync();
+  }
+
+  private void onPinned(RecordedEvent e) {
+    events.increment();
+    pinnedNanos.add(e.getDuration().toNanos());
+  }
+
+  /**
+   * Eventos de pinning recibidos hasta ahora.
+   *
+   * JFR entrega los eventos por lotes (aprox. una vez por segundo), así que
+   * el valor puede ir algo atrasado respecto a la ejecución.
+   *
+   * @return cantidad de eventos
+   */
+  public long events() { return events.sum(); }
+
+  /**
+   * Tiempo total que los hilos virtuales pasaron fijados a su carrier.
+   *
+   * @return suma de las duraciones de los eventos, en nanosegundos
+   */
+  public long pinnedNanos() { return pinnedNanos.sum(); }
+
+  /**
+   * Detiene la grabación esperando a que se consuman los eventos pendientes;
+   * después de llamarlo events() y pinnedNanos() son definitivos.
+   */
+  public void stop() { stream.stop(); }
+
+  /** Libera los recursos de la grabación (sin esperar eventos pendientes). */
+  @Override public void close() { stream.close(); }
+}
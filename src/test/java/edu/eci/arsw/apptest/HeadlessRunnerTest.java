@@ -0,0 +1,27 @@
+package edu.eci.arsw.apptest;
+
+import edu.eci.arsw.app.HeadlessRunner;
+import edu.eci.arsw.immortals.SimulationConfig;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HeadlessRunnerTest {
+    @Test
+    public void testOrderedRunKeepsInvariant() throws Exception {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        SimulationConfig config = SimulationConfig.defaults().withFightMode("ordered").withHealth(100).withDamage(10);
+        HeadlessRunner runner = new HeadlessRunner(16, config, Duration.ofMillis(300), 0,
+                Duration.ofMillis(100), new PrintStream(buffer, true));
+
+        assertEquals(0, runner.run());
+        String out = buffer.toString();
+        assertTrue(out.contains(" OK "), out);
+        assertTrue(out.contains("Done:"), out);
+        assertFalse(out.contains("FAIL"), out);
+    }
+}
@@ -0,0 +1,62 @@
+package edu.eci.arsw.concurrencytest;
+
+import edu.eci.arsw.concurrency.ExecutorPolicy;
+import edu.eci.arsw.concurrency.Quiescence;
+import edu.eci.arsw.immortals.ImmortalManager;
+import edu.eci.arsw.immortals.SimulationConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExecutorPolicyTest {
+    @Test
+    public void testParse() {
+        assertEquals(ExecutorPolicy.Kind.VIRTUAL, ExecutorPolicy.parse("virtual").kind());
+        assertTrue(ExecutorPolicy.parse("Virtual").perTask());
+        ExecutorPolicy platform = ExecutorPolicy.parse("platform:3");
+        assertEquals(ExecutorPolicy.Kind.PLATFORM, platform.kind());
+        assertEquals(3, platform.parallelism());
+        assertFalse(platform.perTask());
+        assertEquals(Runtime.getRuntime().availableProcessors(), ExecutorPolicy.parse("forkjoin").parallelism());
+        assertEquals("platform:3", platform.toString());
+    }
+
+    @Test
+    public void testParseRejectsInvalidSpecs() {
+        assertThrows(IllegalArgumentException.class, () -> ExecutorPolicy.parse("carrier"));
+        assertThrows(IllegalArgumentException.class, () -> ExecutorPolicy.parse("platform:x"));
+        assertThrows(IllegalArgumentException.class, () -> ExecutorPolicy.parse("forkjoin:0"));
+    }
+
+    @Test
+    public void testForkJoinPolicyCreatesPoolWithParallelism() {
+        ExecutorService exec = ExecutorPolicy.parse("forkjoin:2").newExecutor();
+        try {
+            assertEquals(2, assertInstanceOf(ForkJoinPool.class, exec).getParallelism());
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPooledPoliciesPreserveInvariantUnderPause() throws InterruptedException {
+        for (String executor : new String[]{"platform:3", "forkjoin:2"}) {
+            SimulationConfig config = SimulationConfig.defaults().withFightMode("ordered").withHealth(1_000_000)
+                .withPacing("none").withExecutor(executor);
+            try (ImmortalManager manager = new ImmortalManager(20, config)) {
+                manager.start();
+                Thread.sleep(50);
+                manager.pause();
+                Quiescence q = manager.awaitPaused(2000);
+                assertTrue(q.reached(), executor);
+                assertEquals(manager.executorPolicy().parallelism(), q.expected(), executor);
+                assertTrue(manager.scoreBoard().totalFights() > 0, executor);
+                assertEquals(manager.expectedTotalHealth(), manager.totalHealth(), executor);
+                manager.resume();
+            }
+        }
+    }
+}
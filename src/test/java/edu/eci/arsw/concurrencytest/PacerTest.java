@@ -0,0 +1,83 @@
+package edu.eci.arsw.concurrencytest;
+
+import edu.eci.arsw.concurrency.Pacer;
+import edu.eci.arsw.concurrency.PauseController;
+import edu.eci.arsw.concurrency.Quiescence;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PacerTest {
+    @Test
+    public void testParseRejectsInvalidSpecs() {
+        assertThrows(IllegalArgumentException.class, () -> Pacer.parse("sometimes"));
+        assertThrows(IllegalArgumentException.class, () -> Pacer.parse("fixed:abc"));
+        assertThrows(IllegalArgumentException.class, () -> Pacer.parse("rate:0"));
+        assertThrows(IllegalArgumentException.class, () -> Pacer.parse("warp:3"));
+    }
+
+    @Test
+    public void testFixedPacerWaits() throws InterruptedException {
+        Pacer pacer = Pacer.parse("fixed:5");
+        long start = System.nanoTime();
+        for (int i = 0; i < 4; i++) pacer.pace();
+        assertTrue(System.nanoTime() - start >= 20_000_000L);
+    }
+
+    @Test
+    public void testNonePacerDoesNotWait() throws InterruptedException {
+        Pacer pacer = Pacer.parse("none");
+        long start = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) pacer.pace();
+        assertTrue(System.nanoTime() - start < 1_000_000_000L);
+    }
+
+    @Test
+    public void testRateLimitIsSharedAcrossThreads() throws InterruptedException {
+        Pacer pacer = Pacer.parse("rate:1000");
+        Thread[] threads = new Thread[4];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = Thread.ofPlatform().start(() -> {
+                try {
+                    for (int i = 0; i < 50; i++) pacer.pace();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        for (Thread t : threads) t.join();
+        // 200 permisos a 1000/s deben tomar ~200ms en total, no 50ms por hilo
+        assertTrue(System.nanoTime() - start >= 190_000_000L);
+    }
+
+    @Test
+    public void testRateLimitWaitDoesNotBlockPause() throws InterruptedException {
+        PauseController controller = new PauseController();
+        Pacer pacer = Pacer.parse("rate:1", controller);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = Thread.ofPlatform().start(() -> {
+                controller.register();
+                try {
+                    // a 1 pelea/s los turnos quedan hasta 4s en el futuro
+                    while (true) {
+                        controller.awaitIfPaused();
+                        pacer.pace();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    controller.deregister();
+                }
+            });
+        }
+        Thread.sleep(100);
+        controller.pause();
+        Quiescence q = controller.waitUntilQuiescent(500);
+        assertTrue(q.reached(), "stragglers=" + q.stragglers());
+        controller.resume();
+        for (Thread t : threads) t.interrupt();
+        for (Thread t : threads) t.join(1000);
+    }
+}
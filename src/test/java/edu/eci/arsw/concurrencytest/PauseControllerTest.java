@@ -1,7 +1,12 @@
 package edu.eci.arsw.concurrencytest;
 
 import edu.eci.arsw.concurrency.PauseController;
+import edu.eci.arsw.concurrency.Quiescence;
 import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,4 +38,70 @@ public class PauseControllerTest {
         controller.resume();
         assertFalse(controller.isPaused());
     }
+
+    @Test
+    public void testCheckpointBlocksOnlyWhilePaused() throws InterruptedException {
+        PauseController controller = new PauseController();
+        controller.awaitIfPaused(); // sin pausa: retorna de inmediato
+
+        controller.pause();
+        CountDownLatch passed = new CountDownLatch(1);
+        Thread t = new Thread(() -> {
+            try {
+                controller.awaitIfPaused();
+                passed.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        t.start();
+        assertFalse(passed.await(100, TimeUnit.MILLISECONDS));
+        assertEquals(1, controller.getPausedThreadCount());
+
+        controller.resume();
+        assertTrue(passed.await(1, TimeUnit.SECONDS));
+        t.join(1000);
+        assertEquals(0, controller.getPausedThreadCount());
+    }
+
+    @Test
+    public void testWaitUntilQuiescentWakesWhenAllRegisteredParked() throws InterruptedException {
+        PauseController controller = new PauseController();
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> workers = new ArrayList<>();
+        CountDownLatch registered = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            workers.add(Thread.ofPlatform().start(() -> {
+                controller.register();
+                registered.countDown();
+                try {
+                    while (running.get()) {
+                        controller.awaitIfPaused();
+                        Thread.sleep(1);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    controller.deregister();
+                }
+            }));
+        }
+        registered.await();
+
+        controller.pause();
+        Quiescence q = controller.waitUntilQuiescent(2000);
+        assertTrue(q.reached());
+        assertEquals(3, q.parked());
+        assertEquals(3, q.expected());
+        assertEquals(0, q.stragglers());
+
+        Quiescence partial = controller.waitUntilPaused(5, 50);
+        assertFalse(partial.reached());
+        assertEquals(2, partial.stragglers());
+
+        running.set(false);
+        controller.resume();
+        for (Thread t : workers) t.join(1000);
+        assertEquals(0, controller.getRegisteredThreadCount());
+    }
 }
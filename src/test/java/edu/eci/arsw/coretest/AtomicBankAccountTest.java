@@ -0,0 +1,52 @@
+package edu.eci.arsw.coretest;
+
+import edu.eci.arsw.core.AtomicBankAccount;
+import edu.eci.arsw.core.TransferService;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AtomicBankAccountTest {
+    @Test
+    public void testDepositAndWithdraw() {
+        AtomicBankAccount acc = new AtomicBankAccount(1, 100);
+        assertEquals(1, acc.id());
+        acc.deposit(50);
+        assertTrue(acc.tryWithdraw(150));
+        assertFalse(acc.tryWithdraw(1));
+        assertEquals(0, acc.balance());
+    }
+
+    @Test
+    public void testTransferLockFree() {
+        AtomicBankAccount a = new AtomicBankAccount(1, 100);
+        AtomicBankAccount b = new AtomicBankAccount(2, 0);
+        TransferService.transferLockFree(a, b, 40);
+        assertEquals(60, a.balance());
+        assertEquals(40, b.balance());
+        assertThrows(IllegalArgumentException.class, () -> TransferService.transferLockFree(b, a, 41));
+        assertEquals(60, a.balance());
+        assertEquals(40, b.balance());
+    }
+
+    @Test
+    public void testConcurrentWithdrawalsNeverOverdraw() {
+        AtomicBankAccount source = new AtomicBankAccount(1, 1000);
+        AtomicBankAccount sink = new AtomicBankAccount(2, 0);
+        AtomicInteger rejected = new AtomicInteger();
+        try (var exec = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 2000; i++) {
+                exec.submit(() -> {
+                    try { TransferService.transferLockFree(source, sink, 1); }
+                    catch (IllegalArgumentException e) { rejected.incrementAndGet(); }
+                });
+            }
+        }
+        assertEquals(0, source.balance());
+        assertEquals(1000, sink.balance());
+        assertEquals(1000, rejected.get());
+    }
+}
@@ -0,0 +1,36 @@
+package edu.eci.arsw.coretest;
+
+import edu.eci.arsw.core.Backoff;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BackoffTest {
+    @Test
+    public void testDecorrelatedJitterStaysWithinBounds() {
+        Backoff backoff = new Backoff(0, Duration.ofNanos(1000), Duration.ofNanos(100_000));
+        SplittableRandom random = new SplittableRandom(42);
+        long sleep = 0;
+        long max = 0;
+        for (int i = 0; i < 1000; i++) {
+            long next = backoff.nextSleep(sleep, random);
+            assertTrue(next >= 1000 && next <= 100_000, "sleep=" + next);
+            assertTrue(next <= Math.max(sleep, 1000) * 3);
+            max = Math.max(max, next);
+            sleep = next;
+        }
+        assertTrue(max > 50_000);
+        long first = backoff.nextSleep(0, random);
+        assertTrue(first >= 1000 && first <= 3000, "first=" + first);
+    }
+
+    @Test
+    public void testRejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new Backoff(-1, Duration.ofNanos(1), Duration.ofNanos(1)));
+        assertThrows(IllegalArgumentException.class, () -> new Backoff(0, Duration.ZERO, Duration.ofNanos(1)));
+        assertThrows(IllegalArgumentException.class, () -> new Backoff(0, Duration.ofMillis(2), Duration.ofMillis(1)));
+    }
+}
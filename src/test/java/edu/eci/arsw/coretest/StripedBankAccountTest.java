@@ -0,0 +1,58 @@
+package edu.eci.arsw.coretest;
+
+import edu.eci.arsw.core.AtomicBankAccount;
+import edu.eci.arsw.core.StripedBankAccount;
+import edu.eci.arsw.core.TransferService;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StripedBankAccountTest {
+    @Test
+    public void testInitialBalanceIsSpreadAcrossStripes() {
+        StripedBankAccount acc = new StripedBankAccount(1, 10, 4);
+        assertEquals(10, acc.balance());
+        assertEquals(3, acc.stripeBalance(0));
+        assertEquals(2, acc.stripeBalance(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> acc.stripeBalance(4));
+        assertThrows(IllegalArgumentException.class, () -> new StripedBankAccount(1, 10, 0));
+    }
+
+    @Test
+    public void testWithdrawBorrowsAcrossStripes() {
+        StripedBankAccount acc = new StripedBankAccount(1, 100, 8);
+        assertTrue(acc.tryWithdraw(95));
+        assertEquals(5, acc.balance());
+        assertFalse(acc.tryWithdraw(6));
+        assertEquals(5, acc.balance());
+        for (int i = 0; i < 8; i++) assertTrue(acc.stripeBalance(i) >= 0);
+        assertTrue(acc.tryWithdraw(5));
+        assertEquals(0, acc.balance());
+    }
+
+    @Test
+    public void testConcurrentTransfersThroughHotAccountConserveMoney() {
+        StripedBankAccount hot = new StripedBankAccount(0, 0, 4);
+        AtomicBankAccount[] cold = new AtomicBankAccount[8];
+        for (int i = 0; i < cold.length; i++) cold[i] = new AtomicBankAccount(i + 1, 1000);
+        AtomicInteger rejected = new AtomicInteger();
+        try (var exec = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 4000; i++) {
+                AtomicBankAccount c = cold[i % cold.length];
+                exec.submit(() -> TransferService.transferLockFree(c, hot, 1));
+                exec.submit(() -> {
+                    try { TransferService.transferLockFree(hot, c, 1); }
+                    catch (IllegalArgumentException e) { rejected.incrementAndGet(); }
+                });
+            }
+        }
+        long total = hot.balance();
+        for (AtomicBankAccount c : cold) total += c.balance();
+        assertEquals(8000, total);
+        assertEquals(rejected.get(), hot.balance());
+        for (int i = 0; i < hot.stripes(); i++) assertTrue(hot.stripeBalance(i) >= 0);
+    }
+}
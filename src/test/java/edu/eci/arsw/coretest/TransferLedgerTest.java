@@ -0,0 +1,167 @@
+package edu.eci.arsw.coretest;
+
+import edu.eci.arsw.core.BankAccount;
+import edu.eci.arsw.core.Durability;
+import edu.eci.arsw.core.TransferLedger;
+import edu.eci.arsw.core.TransferService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransferLedgerTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testRecoveryRebuildsBalances() throws Exception {
+        Path file = dir.resolve("ledger.bin");
+        try (TransferLedger ledger = TransferLedger.open(file, 100, Durability.SYNC)) {
+            BankAccount a = ledger.openAccount(1, 100);
+            BankAccount b = ledger.openAccount(2, 50);
+            TransferService.transferLogged(ledger, a, b, 30);
+            TransferService.transferLogged(ledger, b, a, 5);
+            assertThrows(IllegalArgumentException.class, () -> TransferService.transferLogged(ledger, a, b, 1000));
+            assertThrows(IllegalArgumentException.class, () -> ledger.openAccount(1, 0));
+            assertEquals(4, ledger.records());
+            assertEquals(4, ledger.forces());
+        }
+        try (TransferLedger ledger = TransferLedger.open(file, 100, Durability.NONE)) {
+            Map<Long, BankAccount> accounts = ledger.recoveredAccounts();
+            assertFalse(ledger.tornTail());
+            assertEquals(75, accounts.get(1L).balance());
+            assertEquals(75, accounts.get(2L).balance());
+            TransferService.transferLogged(ledger, accounts.get(1L), accounts.get(2L), 75);
+            assertEquals(0, ledger.forces());
+        }
+        try (TransferLedger ledger = TransferLedger.open(file, 100, Durability.NONE)) {
+            assertEquals(0, ledger.recoveredAccounts().get(1L).balance());
+            assertEquals(150, ledger.recoveredAccounts().get(2L).balance());
+        }
+    }
+
+    @Test
+    public void testTornTailIsDiscarded() throws Exception {
+        Path file = dir.resolve("torn.bin");
+        try (TransferLedger ledger = TransferLedger.open(file, 10, Durability.NONE)) {
+            BankAccount a = ledger.openAccount(1, 100);
+            BankAccount b = ledger.openAccount(2, 0);
+            TransferService.transferLogged(ledger, a, b, 40);
+            TransferService.transferLogged(ledger, a, b, 10);
+        }
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.wrap(new byte[]{7, 7, 7}), 3L * TransferLedger.RECORD_BYTES + 26);
+        }
+        try (TransferLedger ledger = TransferLedger.open(file, 10, Durability.NONE)) {
+            assertTrue(ledger.tornTail());
+            assertEquals(60, ledger.recoveredAccounts().get(1L).balance());
+            TransferService.transferLogged(ledger, ledger.recoveredAccounts().get(2L), ledger.recoveredAccounts().get(1L), 40);
+        }
+        try (TransferLedger ledger = TransferLedger.open(file, 10, Durability.NONE)) {
+            assertFalse(ledger.tornTail());
+            assertEquals(100, ledger.recoveredAccounts().get(1L).balance());
+            assertEquals(0, ledger.recoveredAccounts().get(2L).balance());
+        }
+    }
+
+    @Test
+    public void testTornAppendWithoutTypeIsDetected() throws Exception {
+        Path file = dir.resolve("payload.bin");
+        try (TransferLedger ledger = TransferLedger.open(file, 10, Durability.NONE)) {
+            ledger.openAccount(1, 100);
+            ledger.openAccount(2, 0);
+        }
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), 2L * TransferLedger.RECORD_BYTES + 8);
+        }
+        try (TransferLedger ledger = TransferLedger.open(file, 10, Durability.NONE)) {
+            assertTrue(ledger.tornTail());
+            assertEquals(2, ledger.recoveredAccounts().size());
+        }
+        try (TransferLedger ledger = TransferLedger.open(file, 10, Durability.NONE)) {
+            assertFalse(ledger.tornTail());
+        }
+    }
+
+    @Test
+    public void testStaleRecordsAfterGapAreNotReplayed() throws Exception {
+        Path file = dir.resolve("gap.bin");
+        try (TransferLedger ledger = TransferLedger.open(file, 10, Durability.NONE)) {
+            BankAccount a = ledger.openAccount(1, 100);
+            BankAccount b = ledger.openAccount(2, 0);
+            for (int i = 0; i < 4; i++) TransferService.transferLogged(ledger, a, b, 10);
+        }
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.allocate(TransferLedger.RECORD_BYTES), 2L * TransferLedger.RECORD_BYTES);
+        }
+        try (TransferLedger ledger = TransferLedger.open(file, 10, Durability.NONE)) {
+            assertTrue(ledger.tornTail());
+            assertEquals(100, ledger.recoveredAccounts().get(1L).balance());
+            TransferService.transferLogged(ledger, ledger.recoveredAccounts().get(1L), ledger.recoveredAccounts().get(2L), 1);
+        }
+        try (TransferLedger ledger = TransferLedger.open(file, 10, Durability.NONE)) {
+            assertFalse(ledger.tornTail());
+            assertEquals(99, ledger.recoveredAccounts().get(1L).balance());
+            assertEquals(1, ledger.recoveredAccounts().get(2L).balance());
+        }
+    }
+
+    @Test
+    public void testGroupCommitSharesForces() throws Exception {
+        Path file = dir.resolve("group.bin");
+        try (TransferLedger ledger = TransferLedger.open(file, 5000, Durability.GROUP)) {
+            BankAccount[] accounts = new BankAccount[4];
+            for (int i = 0; i < accounts.length; i++) accounts[i] = ledger.openAccount(i, 1000);
+            try (var exec = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < 2000; i++) {
+                    BankAccount from = accounts[i % 4];
+                    BankAccount to = accounts[(i + 1) % 4];
+                    exec.submit(() -> TransferService.transferLogged(ledger, from, to, 1));
+                }
+            }
+            assertEquals(2004, ledger.records());
+            assertTrue(ledger.forces() < ledger.records() / 2, ledger.forces() + " forces for " + ledger.records() + " records");
+            for (BankAccount acc : accounts) assertEquals(1000, acc.balance());
+        }
+        try (TransferLedger ledger = TransferLedger.open(file, 5000, Durability.NONE)) {
+            for (BankAccount acc : ledger.recoveredAccounts().values()) assertEquals(1000, acc.balance());
+        }
+    }
+
+    @Test
+    public void testUnknownAccountIsRejectedWithoutWriting() throws Exception {
+        Path file = dir.resolve("unknown.bin");
+        try (TransferLedger ledger = TransferLedger.open(file, 10, Durability.NONE)) {
+            BankAccount a = ledger.openAccount(1, 100);
+            BankAccount stranger = new BankAccount(99, 100);
+            assertThrows(IllegalArgumentException.class, () -> TransferService.transferLogged(ledger, a, stranger, 10));
+            assertThrows(IllegalArgumentException.class, () -> TransferService.transferLogged(ledger, stranger, a, 10));
+            assertEquals(100, a.balance());
+            assertEquals(100, stranger.balance());
+            assertEquals(1, ledger.records());
+        }
+        try (TransferLedger ledger = TransferLedger.open(file, 10, Durability.NONE)) {
+            assertFalse(ledger.tornTail());
+            assertEquals(1, ledger.recoveredAccounts().size());
+            assertEquals(100, ledger.recoveredAccounts().get(1L).balance());
+        }
+    }
+
+    @Test
+    public void testFullLedgerRejectsWithoutApplying() throws Exception {
+        try (TransferLedger ledger = TransferLedger.open(dir.resolve("full.bin"), 2, Durability.NONE)) {
+            BankAccount a = ledger.openAccount(1, 10);
+            BankAccount b = ledger.openAccount(2, 10);
+            assertThrows(IllegalStateException.class, () -> TransferService.transferLogged(ledger, a, b, 5));
+            assertEquals(10, a.balance());
+            assertFalse(a.lock().isLocked());
+        }
+    }
+}
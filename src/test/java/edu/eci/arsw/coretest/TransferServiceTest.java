@@ -1,9 +1,15 @@
 package edu.eci.arsw.coretest;
 
+import edu.eci.arsw.core.Backoff;
 import edu.eci.arsw.core.BankAccount;
+import edu.eci.arsw.core.ContentionMetrics;
+import edu.eci.arsw.core.Transfer;
 import edu.eci.arsw.core.TransferService;
 import org.junit.jupiter.api.Test;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -43,4 +49,97 @@ public class TransferServiceTest {
                 () -> TransferService.transferNaive(a, b, 20));
     }
 
+    @Test
+    public void testTransferBatchAppliesInOrder() {
+        BankAccount a = new BankAccount(1, 100);
+        BankAccount b = new BankAccount(2, 0);
+        BankAccount c = new BankAccount(3, 0);
+        // b solo tiene fondos gracias a la transferencia anterior del lote
+        TransferService.transferBatch(List.of(new Transfer(a, b, 60), new Transfer(b, c, 50), new Transfer(c, a, 10)));
+        assertEquals(50, a.balance());
+        assertEquals(10, b.balance());
+        assertEquals(40, c.balance());
+        assertFalse(a.lock().isLocked());
+    }
+
+    @Test
+    public void testTransferBatchAtomicRollsBack() {
+        BankAccount a = new BankAccount(1, 100);
+        BankAccount b = new BankAccount(2, 10);
+        List<Transfer> batch = List.of(new Transfer(a, b, 50), new Transfer(b, a, 100));
+        assertThrows(IllegalArgumentException.class, () -> TransferService.transferBatch(batch));
+        assertEquals(100, a.balance());
+        assertEquals(10, b.balance());
+        assertFalse(a.lock().isLocked() || b.lock().isLocked());
+    }
+
+    @Test
+    public void testTransferBatchPerItemSkipsFailures() {
+        BankAccount a = new BankAccount(1, 100);
+        BankAccount b = new BankAccount(2, 10);
+        boolean[] applied = TransferService.transferBatch(
+                List.of(new Transfer(a, b, 50), new Transfer(b, a, 100), new Transfer(b, a, 60)), false);
+        assertArrayEquals(new boolean[]{true, false, true}, applied);
+        assertEquals(110, a.balance());
+        assertEquals(0, b.balance());
+    }
+
+    @Test
+    public void testOverlappingBatchesDoNotDeadlock() {
+        BankAccount[] accounts = new BankAccount[8];
+        for (int i = 0; i < accounts.length; i++) accounts[i] = new BankAccount(i, 1000);
+        List<Transfer> forward = new ArrayList<>();
+        List<Transfer> backward = new ArrayList<>();
+        for (int i = 0; i < accounts.length; i++) {
+            forward.add(new Transfer(accounts[i], accounts[(i + 1) % accounts.length], 1));
+            backward.add(new Transfer(accounts[(i + 1) % accounts.length], accounts[i], 1));
+        }
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            try (var exec = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < 500; i++) {
+                    exec.submit(() -> TransferService.transferBatch(forward));
+                    exec.submit(() -> TransferService.transferBatch(backward));
+                    exec.submit(() -> TransferService.transferOrdered(accounts[7], accounts[0], 1));
+                }
+            }
+        });
+        long total = 0;
+        for (BankAccount acc : accounts) total += acc.balance();
+        assertEquals(8000, total);
+    }
+
+    @Test
+    public void testTransferTryLockCountsContention() {
+        BankAccount a = new BankAccount(1, 10_000);
+        BankAccount b = new BankAccount(2, 10_000);
+        ContentionMetrics metrics = new ContentionMetrics();
+        try (var exec = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 1000; i++) {
+                exec.submit(() -> { TransferService.transferTryLock(a, b, 1, Duration.ofSeconds(5), Backoff.DEFAULT, metrics); return null; });
+                exec.submit(() -> { TransferService.transferTryLock(b, a, 1, Duration.ofSeconds(5), Backoff.DEFAULT, metrics); return null; });
+            }
+        }
+        assertEquals(20_000, a.balance() + b.balance());
+        assertEquals(2000, metrics.transfers());
+        assertEquals(0, metrics.timeouts());
+        assertEquals(metrics.attempts() - metrics.transfers(), metrics.retries());
+    }
+
+    @Test
+    public void testTransferTryLockTimesOutOnHeldLock() throws Exception {
+        BankAccount a = new BankAccount(1, 100);
+        BankAccount b = new BankAccount(2, 100);
+        ContentionMetrics metrics = new ContentionMetrics();
+        Thread holder = new Thread(() -> b.lock().lock());
+        holder.start();
+        holder.join();
+        assertThrows(InterruptedException.class,
+                () -> TransferService.transferTryLock(a, b, 10, Duration.ofMillis(50), Backoff.DEFAULT, metrics));
+        assertEquals(1, metrics.timeouts());
+        assertEquals(0, metrics.transfers());
+        assertTrue(metrics.retries() > 0);
+        assertTrue(metrics.waitNanos() >= Duration.ofMillis(40).toNanos());
+        assertEquals(100, a.balance());
+        assertFalse(a.lock().isLocked());
+    }
 }
@@ -4,15 +4,13 @@ import edu.eci.arsw.immortals.Immortal;
 import edu.eci.arsw.immortals.ScoreBoard;
 import edu.eci.arsw.concurrency.PauseController;
 import org.junit.jupiter.api.Test;
-import java.util.ArrayList;
-import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ImmortalTest {
     @Test
     public void testImmortalInitialization() {
-        List<Immortal> pop = new ArrayList<>();
+        Population pop = new Population();
         ScoreBoard sb = new ScoreBoard();
         PauseController pc = new PauseController();
         Immortal im = new Immortal("A", 100, 10, pop, sb, pc);
@@ -23,7 +21,7 @@ public class ImmortalTest {
 
     @Test
     public void testFightOrderedPreservesTotalHealth() throws InterruptedException {
-        List<Immortal> pop = new ArrayList<>();
+        Population pop = new Population();
         ScoreBoard sb = new ScoreBoard();
         PauseController pc = new PauseController();
         Immortal im1 = new Immortal("Immortal-0", 100, 10, pop, sb, pc);
@@ -42,4 +40,88 @@ public class ImmortalTest {
         assertEquals(200, total);
         assertTrue(sb.totalFights() > 0);
     }
+
+    @Test
+    public void testStampedGetHealthWaitsForFightInProgress() throws InterruptedException {
+        Population pop = new Population();
+        ScoreBoard sb = new ScoreBoard();
+        PauseController pc = new PauseController();
+        FightStrategy stamped = FightStrategy.forName("stamped");
+        Immortal a = new Immortal("A", 100, 10, pop, sb, pc, stamped);
+        Immortal b = new Immortal("B", 100, 10, pop, sb, pc, stamped);
+        assertEquals(100, a.getHealth());
+
+        long stamp = b.guard().writeLock();
+        int[] seen = new int[1];
+        Thread reader = Thread.ofVirtual().start(() -> seen[0] = b.getHealth());
+        b.applyFight(a);
+        Thread.sleep(20);
+        assertTrue(reader.isAlive());
+        b.guard().unlockWrite(stamp);
+        reader.join(1000);
+
+        assertEquals(110, seen[0]);
+        assertEquals(90, a.getHealth());
+    }
+
+    @Test
+    public void testGetHealthDoesNotWaitForMonitor() throws InterruptedException {
+        Population pop = new Population();
+        ScoreBoard sb = new ScoreBoard();
+        PauseController pc = new PauseController();
+        Immortal a = new Immortal("A", 100, 10, pop, sb, pc, FightStrategy.forName("ordered"));
+        Immortal b = new Immortal("B", 100, 10, pop, sb, pc, FightStrategy.forName("ordered"));
+
+        synchronized (a) {
+            synchronized (b) {
+                a.applyFight(b);
+                int[] seen = new int[2];
+                Thread reader = Thread.ofPlatform().start(() -> { seen[0] = a.getHealth(); seen[1] = b.getHealth(); });
+                reader.join(1000);
+                assertFalse(reader.isAlive());
+                assertEquals(110, seen[0]);
+                assertEquals(90, seen[1]);
+            }
+        }
+    }
+
+    @Test
+    public void testLockFreeNeverCreditsDeadAttacker() {
+        Population pop = new Population();
+        ScoreBoard sb = new ScoreBoard();
+        PauseController pc = new PauseController();
+        FightStrategy lockfree = FightStrategy.forName("lockfree");
+        Immortal dead = new Immortal("Dead", 0, 10, pop, sb, pc, lockfree);
+        Immortal a = new Immortal("A", 5, 10, pop, sb, pc, lockfree);
+        Immortal b = new Immortal("B", 100, 10, pop, sb, pc, lockfree);
+        pop.add(a);
+        pop.add(b);
+
+        assertEquals(FightOutcome.SKIPPED, dead.applyFightLockFree(b));
+        assertEquals(0, dead.getHealth());
+        assertEquals(100, b.getHealth());
+
+        // Defensor muerto: se devuelve el crédito y el atacante queda como estaba
+        assertEquals(FightOutcome.SKIPPED, a.applyFightLockFree(dead));
+        assertEquals(5, a.getHealth());
+        assertEquals(0, dead.getHealth());
+        assertEquals(2, pop.size());
+    }
+
+    @Test
+    public void testLockFreeAliveCountMatchesPositiveHealth() throws InterruptedException {
+        SimulationConfig config = SimulationConfig.defaults().withFightMode("lockfree").withHealth(30).withDamage(10)
+            .withPacing("none").withExecutor("platform:4");
+        for (int run = 0; run < 5; run++) {
+            try (ImmortalManager manager = new ImmortalManager(200, config)) {
+                manager.start();
+                Thread.sleep(30);
+                manager.stop();
+                int positive = 0;
+                for (int h : manager.healthById()) if (h > 0) positive++;
+                assertEquals(positive, manager.aliveCount());
+                assertEquals(manager.expectedTotalHealth(), manager.totalHealth());
+            }
+        }
+    }
 }
@@ -0,0 +1,58 @@
+package edu.eci.arsw.immortals;
+
+import edu.eci.arsw.concurrency.PauseController;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MailboxTest {
+    private static Immortal immortal(String name) {
+        return new Immortal(name, 100, 10, new Population(), new ScoreBoard(), new PauseController());
+    }
+
+    @Test
+    public void testRejectsWhenFullAndDrainsInOrder() {
+        Mailbox box = new Mailbox(2);
+        Immortal a = immortal("A");
+        Immortal b = immortal("B");
+        assertTrue(box.offer(a));
+        assertTrue(box.offer(b));
+        assertFalse(box.offer(a));
+        assertEquals(2, box.size());
+
+        List<Immortal> seen = new ArrayList<>();
+        assertEquals(1, box.drain(1, seen::add));
+        assertTrue(box.offer(a));
+        assertEquals(2, box.drain(10, seen::add));
+        assertEquals(List.of(a, b, a), seen);
+        assertEquals(0, box.size());
+        assertEquals(0, box.drain(10, seen::add));
+        assertThrows(IllegalArgumentException.class, () -> new Mailbox(0));
+    }
+
+    @Test
+    public void testConcurrentProducersLoseNoMessage() throws InterruptedException {
+        Mailbox box = new Mailbox(16);
+        Immortal a = immortal("A");
+        int producers = 4;
+        int perProducer = 10_000;
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) while (!box.offer(a)) Thread.onSpinWait();
+            });
+            threads[p].start();
+        }
+        int received = 0;
+        while (received < producers * perProducer) {
+            int n = box.drain(8, im -> assertSame(a, im));
+            if (n == 0) Thread.yield();
+            received += n;
+        }
+        for (Thread t : threads) t.join();
+        assertEquals(0, box.size());
+    }
+}
@@ -0,0 +1,101 @@
+package edu.eci.arsw.immortals;
+
+import edu.eci.arsw.concurrency.Quiescence;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapPopulationTest {
+
+    @Test
+    public void testTransferHitsAndKillsOnce() {
+        OffHeapPopulation pop = new OffHeapPopulation(3, 20, 10);
+        assertEquals(FightOutcome.HIT, pop.transfer(0, 1));
+        assertEquals(FightOutcome.KILL, pop.transfer(0, 1));
+        assertEquals(40, pop.health(0));
+        assertEquals(0, pop.health(1));
+        assertFalse(pop.isAlive(1));
+        assertEquals(2, pop.wins(0));
+        assertEquals(1, pop.kills(0));
+        assertEquals(2, pop.aliveCount());
+        assertEquals(FightOutcome.SKIPPED, pop.transfer(0, 1));
+        assertEquals(FightOutcome.SKIPPED, pop.transfer(1, 2));
+        assertEquals(60, pop.totalHealth());
+    }
+
+    @Test
+    public void testAttackerDyingMidFightIsNeverCredited() throws InterruptedException {
+        for (int run = 0; run < 100; run++) {
+            int n = 64;
+            OffHeapPopulation pop = new OffHeapPopulation(n, 10, 10);
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                threads.add(Thread.ofPlatform().start(() -> {
+                    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                    for (int k = 0; k < 20_000 && pop.aliveCount() > 1; k++) {
+                        int a = rnd.nextInt(n);
+                        int b = rnd.nextInt(n - 1);
+                        if (b >= a) b++;
+                        pop.transfer(a, b);
+                    }
+                }));
+            }
+            for (Thread t : threads) t.join();
+            int positive = 0;
+            for (int id = 0; id < n; id++) {
+                assertEquals(pop.health(id) > 0, pop.isAlive(id), "id " + id + " health " + pop.health(id));
+                if (pop.health(id) > 0) positive++;
+            }
+            assertEquals(positive, pop.aliveCount());
+            assertEquals(10L * n, pop.totalHealth());
+        }
+    }
+
+    @Test
+    public void testSampleOtherReturnsOnlyLiveOthers() {
+        OffHeapPopulation pop = new OffHeapPopulation(40, 10, 10);
+        for (int id = 1; id < 40; id += 2) assertEquals(FightOutcome.KILL, pop.transfer(id - 1, id));
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 1000; i++) {
+            int other = pop.sampleOther(0, random);
+            assertNotEquals(0, other);
+            assertTrue(pop.isAlive(other));
+        }
+        OffHeapPopulation pair = new OffHeapPopulation(2, 10, 10);
+        pair.transfer(0, 1);
+        assertEquals(-1, pair.sampleOther(0, random));
+    }
+
+    @Test
+    public void testStorageIsOffHeapAndBounded() {
+        OffHeapPopulation pop = new OffHeapPopulation(1000, 100, 10);
+        assertEquals(1000 * 24 + 32 * 4, pop.offHeapBytes());
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapPopulation(0, 100, 10));
+        assertThrows(IndexOutOfBoundsException.class, () -> pop.health(1000));
+    }
+
+    @Test
+    public void testArenaPreservesInvariantUnderPause() throws InterruptedException {
+        SimulationConfig config = SimulationConfig.defaults().withHealth(1000).withDamage(10)
+            .withPacing("none").withExecutor("platform:4");
+        try (OffHeapArena arena = new OffHeapArena(100_000, config)) {
+            arena.start();
+            for (int i = 0; i < 5; i++) {
+                Thread.sleep(20);
+                arena.pause();
+                Quiescence q = arena.awaitPaused(2000);
+                assertTrue(q.reached());
+                assertEquals(arena.expectedTotalHealth(), arena.totalHealth());
+                arena.resume();
+            }
+            arena.stop();
+            assertTrue(arena.totalFights() > 0);
+            assertEquals(arena.expectedTotalHealth(), arena.totalHealth());
+        }
+    }
+}
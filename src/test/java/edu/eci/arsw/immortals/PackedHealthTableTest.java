@@ -0,0 +1,92 @@
+package edu.eci.arsw.immortals;
+
+import edu.eci.arsw.concurrency.PauseController;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PackedHealthTableTest {
+    @Test
+    public void testTransferMovesDamageAndBumpsVersions() {
+        PackedHealthTable table = new PackedHealthTable(2);
+        table.init(0, 100);
+        table.init(1, 15);
+        assertEquals(FightOutcome.HIT, table.transfer(0, 1, 10));
+        assertEquals(110, table.health(0));
+        assertEquals(5, table.health(1));
+        assertEquals(1, table.version(0));
+        assertEquals(1, table.version(1));
+
+        assertEquals(FightOutcome.KILL, table.transfer(0, 1, 10));
+        assertEquals(-5, table.health(1));
+        assertEquals(FightOutcome.SKIPPED, table.transfer(0, 1, 10));
+        assertEquals(FightOutcome.SKIPPED, table.transfer(1, 0, 10));
+        assertEquals(115, table.health(0) + table.health(1));
+    }
+
+    @Test
+    public void testDeadAttackerIsNeverCredited() {
+        PackedHealthTable table = new PackedHealthTable(3);
+        table.init(0, 0);
+        table.init(1, 50);
+        table.init(2, 0);
+        assertEquals(FightOutcome.SKIPPED, table.transfer(0, 1, 10));
+        assertEquals(0, table.health(0));
+        assertEquals(50, table.health(1));
+        // Defensor muerto: el crédito se devuelve
+        assertEquals(FightOutcome.SKIPPED, table.transfer(1, 2, 10));
+        assertEquals(50, table.health(1));
+        assertEquals(0, table.health(2));
+    }
+
+    @Test
+    public void testConcurrentTransfersPreserveTotal() throws Exception {
+        int n = 16;
+        PackedHealthTable table = new PackedHealthTable(n);
+        for (int i = 0; i < n; i++) table.init(i, 1_000_000);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                for (int k = 0; k < 50_000; k++) {
+                    int a = rnd.nextInt(n);
+                    int b = rnd.nextInt(n - 1);
+                    if (b >= a) b++;
+                    table.transfer(a, b, 1);
+                }
+            }));
+        }
+        for (Thread t : threads) t.join();
+        long sum = 0;
+        for (int i = 0; i < n; i++) sum += table.health(i);
+        assertEquals(16L * 1_000_000, sum);
+    }
+
+    @Test
+    public void testStandaloneConstructorRejectsPacked() {
+        FightStrategy packed = FightStrategy.forName("packed", 4);
+        assertThrows(IllegalArgumentException.class,
+            () -> new Immortal("A", 100, 10, new Population(), new ScoreBoard(), new PauseController(), packed));
+    }
+
+    @Test
+    public void testPackedAliveCountMatchesPositiveHealth() throws InterruptedException {
+        SimulationConfig config = SimulationConfig.defaults().withFightMode("packed").withHealth(30).withDamage(10)
+            .withPacing("none").withExecutor("platform:4");
+        for (int run = 0; run < 5; run++) {
+            try (ImmortalManager manager = new ImmortalManager(200, config)) {
+                manager.start();
+                Thread.sleep(30);
+                manager.stop();
+                int positive = 0;
+                for (int h : manager.healthById()) if (h > 0) positive++;
+                assertEquals(positive, manager.aliveCount());
+                assertEquals(manager.expectedTotalHealth(), manager.totalHealth());
+            }
+        }
+    }
+}
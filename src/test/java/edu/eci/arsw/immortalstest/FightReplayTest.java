@@ -0,0 +1,93 @@
+package edu.eci.arsw.immortalstest;
+
+import edu.eci.arsw.concurrency.PauseController;
+import edu.eci.arsw.immortals.FightLog;
+import edu.eci.arsw.immortals.FightReplay;
+import edu.eci.arsw.immortals.Immortal;
+import edu.eci.arsw.immortals.ImmortalManager;
+import edu.eci.arsw.immortals.Population;
+import edu.eci.arsw.immortals.ScoreBoard;
+import edu.eci.arsw.immortals.SimulationConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FightReplayTest {
+    @Test
+    public void testReplayAppliesFightsInOrder() {
+        FightLog log = new FightLog(8);
+        log.record(0, 1);
+        log.record(2, 1);
+        log.record(1, 0);
+        FightReplay.Result r = FightReplay.replay(log, new int[]{20, 20, 20}, new int[]{10, 10, 10});
+
+        assertArrayEquals(new int[]{30, 0, 30}, r.health());
+        assertEquals(3, r.fights());
+        assertEquals(1, r.divergent());
+        assertEquals(0, r.mismatches(new int[]{30, 0, 30}));
+        assertEquals(2, r.mismatches(new int[]{20, 10, 30}));
+    }
+
+    @Test
+    public void testLogStopsAtCapacity() {
+        FightLog log = new FightLog(2);
+        log.record(0, 1);
+        log.record(1, 0);
+        assertFalse(log.truncated());
+        log.record(0, 1);
+
+        assertEquals(2, log.size());
+        assertTrue(log.truncated());
+        assertEquals(1, log.attacker(1));
+        assertEquals(0, log.defender(1));
+    }
+
+    @Test
+    public void testSameSeedGivesSameOpponents() {
+        Population pop = new Population();
+        ScoreBoard sb = new ScoreBoard();
+        PauseController pc = new PauseController();
+        Immortal[] all = new Immortal[10];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = new Immortal("Immortal-" + i, 100, 10, pop, sb, pc);
+            pop.add(all[i]);
+        }
+        SplittableRandom r1 = new SplittableRandom(7);
+        SplittableRandom r2 = new SplittableRandom(7);
+        for (int i = 0; i < 100; i++) {
+            assertSame(pop.sampleOther(all[0], r1), pop.sampleOther(all[0], r2));
+        }
+    }
+
+    @Test
+    public void testConcurrentRunMatchesSequentialOracle() throws InterruptedException {
+        SimulationConfig config = SimulationConfig.defaults().withFightMode("ordered").withHealth(1000).withDamage(10)
+            .withPacing("none").withSeed(42).withFightLogCapacity(1 << 20);
+        try (ImmortalManager manager = new ImmortalManager(8, config)) {
+            manager.start();
+            Thread.sleep(200);
+            manager.stop();
+
+            FightReplay.Result r = manager.replay();
+            assertEquals(manager.scoreBoard().totalFights(), r.fights());
+            assertEquals(0, r.divergent());
+            assertEquals(0, r.mismatches(manager.healthById()));
+        }
+    }
+
+    @Test
+    public void testFightLogRequiresAtomicFights() {
+        for (String mode : new String[]{"lockfree", "packed"}) {
+            SimulationConfig config = SimulationConfig.defaults().withFightMode(mode).withFightLogCapacity(100);
+            assertThrows(IllegalArgumentException.class, () -> new ImmortalManager(4, config), mode);
+        }
+    }
+
+    @Test
+    public void testReplayRequiresFightLog() {
+        ImmortalManager manager = new ImmortalManager(2, SimulationConfig.defaults().withFightLogCapacity(0));
+        assertThrows(IllegalStateException.class, manager::replay);
+    }
+}
@@ -0,0 +1,65 @@
+package edu.eci.arsw.immortalstest;
+
+import edu.eci.arsw.concurrency.Quiescence;
+import edu.eci.arsw.immortals.FightStrategy;
+import edu.eci.arsw.immortals.ImmortalManager;
+import edu.eci.arsw.immortals.SimulationConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FightStrategyTest {
+    @Test
+    public void testForNameResolvesAllStrategies() {
+        for (String name : new String[]{"naive", "ordered", "stamped", "trylock", "lockfree", "actor"}) {
+            assertEquals(name, FightStrategy.forName(name).name());
+        }
+        assertEquals("ordered", FightStrategy.forName("ORDERED").name());
+        assertThrows(IllegalArgumentException.class, () -> FightStrategy.forName("bogus"));
+        assertThrows(IllegalArgumentException.class, () -> FightStrategy.forName("packed"));
+        assertEquals("packed", FightStrategy.forName("packed", 4).name());
+        assertEquals("actor", FightStrategy.forName("actor:8").name());
+        assertThrows(IllegalArgumentException.class, () -> FightStrategy.forName("actor:0"));
+        assertThrows(IllegalArgumentException.class, () -> FightStrategy.forName("actor:x"));
+    }
+
+    @Test
+    public void testManagerUsesConfiguredStrategyAndKeepsInvariant() throws Exception {
+        for (String name : new String[]{"ordered", "stamped", "trylock", "lockfree", "packed", "actor"}) {
+            try (ImmortalManager manager = new ImmortalManager(16, name, 100, 10)) {
+                assertEquals(name, manager.fightStrategy().name());
+                manager.start();
+                Thread.sleep(100);
+                manager.pause();
+                Quiescence q = manager.awaitPaused(1000);
+                assertTrue(q.reached(), name);
+                assertEquals(manager.expectedTotalHealth(), manager.totalHealth(), name);
+                assertTrue(manager.scoreBoard().totalFights() > 0, name);
+                manager.resume();
+            }
+        }
+    }
+
+    @Test
+    public void testActorKeepsInvariantWithFullMailboxes() throws Exception {
+        SimulationConfig config = SimulationConfig.defaults().withFightMode("actor:2").withHealth(1000).withDamage(10)
+            .withPacing("none").withExecutor("platform:4");
+        try (ImmortalManager manager = new ImmortalManager(64, config)) {
+            manager.start();
+            for (int i = 0; i < 10; i++) {
+                Thread.sleep(20);
+                manager.pause();
+                assertTrue(manager.awaitPaused(2000).reached());
+                assertEquals(manager.expectedTotalHealth(), manager.totalHealth());
+                manager.resume();
+            }
+            manager.stop();
+            assertTrue(manager.scoreBoard().totalFights() > 0);
+            assertTrue(manager.mailboxRejections() > 0);
+            assertEquals(manager.expectedTotalHealth(), manager.totalHealth());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new ImmortalManager(4, config.withSnapshots(true)));
+        assertThrows(IllegalArgumentException.class, () -> new ImmortalManager(4, config.withAuditEveryMs(10)));
+        assertThrows(IllegalArgumentException.class, () -> new ImmortalManager(4, config.withFightLogCapacity(100)));
+    }
+}
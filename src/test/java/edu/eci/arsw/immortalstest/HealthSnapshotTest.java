@@ -0,0 +1,69 @@
+package edu.eci.arsw.immortalstest;
+
+import edu.eci.arsw.immortals.ExecutionMode;
+import edu.eci.arsw.immortals.HealthSnapshot;
+import edu.eci.arsw.immortals.ImmortalManager;
+import edu.eci.arsw.immortals.SimulationConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HealthSnapshotTest {
+    private static SimulationConfig snapshots(String fight) {
+        return SimulationConfig.defaults().withFightMode(fight).withHealth(100_000).withDamage(10)
+            .withPacing("none").withSnapshots(true);
+    }
+
+    @Test
+    public void testSnapshotsAreConsistentWhileFighting() throws InterruptedException {
+        for (String fight : new String[]{"ordered", "stamped", "trylock"}) {
+            try (ImmortalManager manager = new ImmortalManager(32, snapshots(fight))) {
+                manager.start();
+                Thread.sleep(20);
+                long previousEpoch = 0;
+                long firstFights = manager.scoreBoard().totalFights();
+                for (int i = 0; i < 200; i++) {
+                    HealthSnapshot snap = manager.snapshot();
+                    assertEquals(manager.expectedTotalHealth(), snap.total(), fight);
+                    assertEquals(snap.total(), Arrays.stream(snap.health()).asLongStream().sum(), fight);
+                    assertTrue(snap.epoch() > previousEpoch, fight);
+                    previousEpoch = snap.epoch();
+                    Thread.sleep(0, 100_000);
+                }
+                assertTrue(manager.scoreBoard().totalFights() > firstFights, fight);
+                assertEquals(0, manager.controller().getPausedThreadCount(), fight);
+            }
+        }
+    }
+
+    @Test
+    public void testSnapshotInRoundsMode() throws InterruptedException {
+        try (ImmortalManager manager = new ImmortalManager(101, snapshots("ordered").withExecution(ExecutionMode.ROUNDS))) {
+            manager.start();
+            for (int i = 0; i < 50; i++) {
+                assertEquals(manager.expectedTotalHealth(), manager.snapshot().total());
+                Thread.sleep(1);
+            }
+        }
+    }
+
+    @Test
+    public void testSnapshotMatchesStateWhenStopped() throws InterruptedException {
+        try (ImmortalManager manager = new ImmortalManager(8, snapshots("ordered"))) {
+            manager.start();
+            Thread.sleep(50);
+            manager.stop();
+            assertArrayEquals(manager.healthById(), manager.snapshot().health());
+        }
+    }
+
+    @Test
+    public void testSnapshotsRequireLockBasedStrategy() {
+        assertThrows(IllegalArgumentException.class, () -> new ImmortalManager(4, snapshots("lockfree")));
+        assertThrows(IllegalArgumentException.class, () -> new ImmortalManager(4, snapshots("packed")));
+        ImmortalManager manager = new ImmortalManager(4, snapshots("ordered").withSnapshots(false));
+        assertThrows(IllegalStateException.class, manager::snapshot);
+    }
+}
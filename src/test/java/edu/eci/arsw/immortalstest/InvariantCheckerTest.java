@@ -0,0 +1,70 @@
+package edu.eci.arsw.immortalstest;
+
+import edu.eci.arsw.immortals.ExecutionMode;
+import edu.eci.arsw.immortals.ImmortalManager;
+import edu.eci.arsw.immortals.InvariantChecker;
+import edu.eci.arsw.immortals.SimulationConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InvariantCheckerTest {
+    private static SimulationConfig audited(String fight) {
+        return SimulationConfig.defaults().withFightMode(fight).withHealth(1_000_000).withDamage(10)
+            .withPacing("none").withAuditEveryMs(1);
+    }
+
+    @Test
+    public void testCorrectStrategiesHaveNoDrift() throws InterruptedException {
+        for (String fight : new String[]{"ordered", "stamped", "trylock", "lockfree"}) {
+            try (ImmortalManager manager = new ImmortalManager(16, audited(fight).withExecutor("platform:4"))) {
+                InvariantChecker checker = manager.invariantChecker();
+                manager.start();
+                Thread.sleep(100);
+                manager.stop();
+                assertTrue(manager.scoreBoard().totalFights() > 0, fight);
+                assertTrue(checker.audited() > 0, fight);
+                assertEquals(0, checker.drift(), fight);
+                assertEquals(0, checker.alerts(), fight);
+                assertEquals(manager.expectedTotalHealth(), manager.totalHealth(), fight);
+            }
+        }
+    }
+
+    @Test
+    public void testNoDriftInRoundsMode() throws InterruptedException {
+        try (ImmortalManager manager = new ImmortalManager(64, audited("ordered").withExecution(ExecutionMode.ROUNDS))) {
+            manager.start();
+            Thread.sleep(50);
+            manager.stop();
+            assertEquals(0, manager.invariantChecker().drift());
+            assertEquals(0, manager.invariantChecker().alerts());
+        }
+    }
+
+    @Test
+    public void testUnsafeStrategyRaisesDriftAlert() throws InterruptedException {
+        try (ImmortalManager manager = new ImmortalManager(4, audited("unsafe").withExecutor("platform:4"))) {
+            InvariantChecker checker = manager.invariantChecker();
+            List<InvariantChecker.DriftAlert> alerts = new CopyOnWriteArrayList<>();
+            checker.addListener(alerts::add);
+            manager.start();
+            for (int i = 0; i < 500 && checker.alerts() == 0; i++) Thread.sleep(10);
+            manager.stop();
+            assertTrue(checker.alerts() > 0);
+            assertFalse(alerts.isEmpty());
+            assertEquals(checker.drift(), manager.totalHealth() - manager.expectedTotalHealth());
+        }
+    }
+
+    @Test
+    public void testAuditRejectsPackedAndIsOffByDefault() {
+        assertThrows(IllegalArgumentException.class, () -> new ImmortalManager(4, audited("packed")));
+        assertThrows(IllegalArgumentException.class,
+            () -> new ImmortalManager(4, audited("unsafe").withSnapshots(true)));
+        assertNull(new ImmortalManager(4, audited("ordered").withAuditEveryMs(0)).invariantChecker());
+    }
+}
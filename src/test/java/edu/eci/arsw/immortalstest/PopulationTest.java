@@ -0,0 +1,59 @@
+package edu.eci.arsw.immortalstest;
+
+import edu.eci.arsw.concurrency.PauseController;
+import edu.eci.arsw.immortals.Immortal;
+import edu.eci.arsw.immortals.Population;
+import edu.eci.arsw.immortals.ScoreBoard;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PopulationTest {
+    private static Immortal[] fill(Population pop, int n) {
+        ScoreBoard sb = new ScoreBoard();
+        PauseController pc = new PauseController();
+        Immortal[] all = new Immortal[n];
+        for (int i = 0; i < n; i++) {
+            all[i] = new Immortal("Immortal-" + i, 100, 10, pop, sb, pc);
+            pop.add(all[i]);
+        }
+        return all;
+    }
+
+    @Test
+    public void testSwapRemoveKeepsRemainingMembers() {
+        Population pop = new Population(2);
+        Immortal[] all = fill(pop, 5);
+        assertEquals(5, pop.size());
+
+        assertTrue(pop.remove(all[1]));
+        assertFalse(pop.remove(all[1]));
+        assertEquals(4, pop.size());
+        assertFalse(pop.contains(all[1]));
+        for (int i : new int[]{0, 2, 3, 4}) assertTrue(pop.contains(all[i]));
+        assertEquals(4, pop.toList().size());
+    }
+
+    @Test
+    public void testSampleOtherNeverReturnsSelfOrDead() {
+        Population pop = new Population();
+        Immortal[] all = fill(pop, 4);
+        pop.remove(all[2]);
+        for (int i = 0; i < 1000; i++) {
+            Immortal other = pop.sampleOther(all[0]);
+            assertNotNull(other);
+            assertNotSame(all[0], other);
+            assertNotSame(all[2], other);
+        }
+        // un muerto puede seguir eligiendo entre todos los vivos
+        assertNotNull(pop.sampleOther(all[2]));
+    }
+
+    @Test
+    public void testSampleOtherReturnsNullForLastStanding() {
+        Population pop = new Population();
+        Immortal[] all = fill(pop, 2);
+        pop.remove(all[1]);
+        assertNull(pop.sampleOther(all[0]));
+    }
+}
@@ -0,0 +1,67 @@
+package edu.eci.arsw.immortalstest;
+
+import edu.eci.arsw.concurrency.Quiescence;
+import edu.eci.arsw.immortals.ExecutionMode;
+import edu.eci.arsw.immortals.FightReplay;
+import edu.eci.arsw.immortals.ImmortalManager;
+import edu.eci.arsw.immortals.SimulationConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoundEngineTest {
+    private static SimulationConfig rounds(String fight) {
+        return SimulationConfig.defaults().withExecution(ExecutionMode.ROUNDS).withFightMode(fight)
+            .withHealth(1000).withDamage(10).withPacing("none");
+    }
+
+    @Test
+    public void testRoundsPreserveInvariantUnderPause() throws InterruptedException {
+        try (ImmortalManager manager = new ImmortalManager(101, rounds("ordered"))) {
+            manager.start();
+            Thread.sleep(50);
+            manager.pause();
+            Quiescence q = manager.awaitPaused(2000);
+            assertTrue(q.reached());
+            assertEquals(1, q.expected());
+            long fights = manager.scoreBoard().totalFights();
+            assertEquals(manager.expectedTotalHealth(), manager.totalHealth());
+            Thread.sleep(20);
+            assertEquals(fights, manager.scoreBoard().totalFights());
+            manager.resume();
+        }
+    }
+
+    @Test
+    public void testRoundsMatchSequentialOracle() throws InterruptedException {
+        SimulationConfig config = rounds("ordered").withSeed(3).withFightLogCapacity(1 << 20);
+        try (ImmortalManager manager = new ImmortalManager(64, config)) {
+            manager.start();
+            Thread.sleep(100);
+            manager.stop();
+
+            FightReplay.Result r = manager.replay();
+            assertTrue(r.fights() > 0);
+            assertEquals(0, r.divergent());
+            assertEquals(0, r.mismatches(manager.healthById()));
+        }
+    }
+
+    @Test
+    public void testRoundsRunUntilOneIsLeft() throws InterruptedException {
+        try (ImmortalManager manager = new ImmortalManager(16, rounds("packed").withHealth(50))) {
+            manager.start();
+            long deadline = System.currentTimeMillis() + 5000;
+            while (manager.aliveCount() > 1 && System.currentTimeMillis() < deadline) Thread.sleep(10);
+            manager.stop();
+            assertEquals(1, manager.aliveCount());
+            assertEquals(manager.expectedTotalHealth(), manager.totalHealth());
+        }
+    }
+
+    @Test
+    public void testUnknownExecutionMode() {
+        assertEquals(ExecutionMode.ROUNDS, ExecutionMode.forName("Rounds"));
+        assertThrows(IllegalArgumentException.class, () -> ExecutionMode.forName("actors"));
+    }
+}
@@ -1,5 +1,10 @@
 package edu.eci.arsw.immortalstest;
 
+import edu.eci.arsw.concurrency.Pacer;
+import edu.eci.arsw.concurrency.PauseController;
+import edu.eci.arsw.immortals.FightStrategy;
+import edu.eci.arsw.immortals.Immortal;
+import edu.eci.arsw.immortals.Population;
 import edu.eci.arsw.immortals.ScoreBoard;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -14,4 +19,49 @@ public class ScoreBoardTest {
         sb.recordFight();
         assertEquals(2, sb.totalFights());
     }
+
+    @Test
+    public void testPerImmortalStats() {
+        ScoreBoard sb = new ScoreBoard(true);
+        Population pop = new Population();
+        PauseController pc = new PauseController();
+        Immortal a = new Immortal("A", 100, 10, pop, sb, pc);
+        Immortal b = new Immortal("B", 100, 10, pop, sb, pc);
+        sb.recordFight(a, b, false);
+        sb.recordFight(a, b, true);
+        sb.recordFight(b, a, false);
+
+        assertTrue(sb.tracksPerImmortal());
+        assertEquals(3, sb.totalFights());
+        assertEquals(new ScoreBoard.Stats(2, 1, 1), sb.statsOf(a));
+        assertEquals(new ScoreBoard.Stats(1, 2, 0), sb.statsOf(b));
+    }
+
+    @Test
+    public void testStatsDisabledByDefault() {
+        ScoreBoard sb = new ScoreBoard();
+        Immortal a = new Immortal("A", 100, 10, new Population(), sb, new PauseController());
+        sb.recordFight(a, a, false);
+        assertFalse(sb.tracksPerImmortal());
+        assertEquals(1, sb.totalFights());
+        assertEquals(new ScoreBoard.Stats(0, 0, 0), sb.statsOf(a));
+    }
+
+    @Test
+    public void testStatsIndexedByDenseId() {
+        ScoreBoard sb = new ScoreBoard(true, false, 0, 2);
+        Population pop = new Population();
+        PauseController pc = new PauseController();
+        FightStrategy ordered = FightStrategy.forName("ordered");
+        Immortal a = new Immortal(0, "A", 100, 10, pop, sb, pc, ordered, Pacer.none());
+        Immortal b = new Immortal(1, "B", 100, 10, pop, sb, pc, ordered, Pacer.none());
+        Immortal outside = new Immortal(7, "C", 100, 10, pop, sb, pc, ordered, Pacer.none());
+        sb.recordFight(a, b, true);
+        sb.recordFight(outside, a, false);
+
+        assertEquals(new ScoreBoard.Stats(1, 1, 1), sb.statsOf(0));
+        assertEquals(new ScoreBoard.Stats(0, 1, 0), sb.statsOf(b));
+        assertEquals(new ScoreBoard.Stats(1, 0, 0), sb.statsOf(7));
+        assertEquals(new ScoreBoard.Stats(0, 0, 0), sb.statsOf(3));
+    }
 }
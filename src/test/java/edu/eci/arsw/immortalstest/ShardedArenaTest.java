@@ -0,0 +1,85 @@
+package edu.eci.arsw.immortalstest;
+
+import edu.eci.arsw.concurrency.Quiescence;
+import edu.eci.arsw.immortals.ShardedArena;
+import edu.eci.arsw.immortals.SimulationConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardedArenaTest {
+    private static SimulationConfig config(int health) {
+        return SimulationConfig.defaults().withHealth(health).withDamage(10).withPacing("none").withExecutor("platform:4");
+    }
+
+    @Test
+    public void testInvariantHoldsWithCrossShardFightsInFlight() throws InterruptedException {
+        for (double cross : new double[]{0.05, 1.0}) {
+            try (ShardedArena arena = new ShardedArena(10_000, config(200), cross)) {
+                assertEquals(4, arena.shardCount());
+                arena.start();
+                for (int i = 0; i < 10; i++) {
+                    Thread.sleep(20);
+                    arena.pause();
+                    Quiescence q = arena.awaitPaused(2000);
+                    assertTrue(q.reached());
+                    assertEquals(arena.expectedTotalHealth(), arena.totalHealth(), "cross=" + cross);
+                    assertDeadHaveNoHealth(arena, 10_000);
+                    arena.resume();
+                }
+                arena.stop();
+                assertTrue(arena.crossShardFights() > 0);
+                assertTrue(arena.aliveCount() < 10_000);
+                assertEquals(arena.expectedTotalHealth(), arena.totalHealth(), "cross=" + cross);
+                assertDeadHaveNoHealth(arena, 10_000);
+            }
+        }
+    }
+
+    @Test
+    public void testDeadAttackersAreNeverCredited() throws InterruptedException {
+        for (int run = 0; run < 5; run++) {
+            try (ShardedArena arena = new ShardedArena(400, config(10), 1.0)) {
+                arena.start();
+                Thread.sleep(30);
+                arena.pause();
+                assertTrue(arena.awaitPaused(2000).reached());
+                assertDeadHaveNoHealth(arena, 400);
+                assertEquals(arena.expectedTotalHealth(), arena.totalHealth());
+                arena.stop();
+            }
+        }
+    }
+
+    private static void assertDeadHaveNoHealth(ShardedArena arena, int n) {
+        int alive = 0;
+        for (int id = 0; id < n; id++) {
+            if (arena.isAlive(id)) alive++;
+            else assertTrue(arena.health(id) <= 0, "dead id " + id + " has health " + arena.health(id));
+        }
+        assertEquals(alive, arena.aliveCount());
+    }
+
+    @Test
+    public void testNoCrossShardFightsWhenRatioIsZero() throws InterruptedException {
+        try (ShardedArena arena = new ShardedArena(1000, config(1_000_000), 0)) {
+            arena.start();
+            Thread.sleep(50);
+            arena.stop();
+            assertTrue(arena.totalFights() > 0);
+            assertEquals(0, arena.crossShardFights());
+            assertEquals(0, arena.inTransit());
+            assertEquals(arena.expectedTotalHealth(), arena.totalHealth());
+        }
+    }
+
+    @Test
+    public void testShardsCoverEveryId() {
+        ShardedArena arena = new ShardedArena(10, config(100), 0.5);
+        assertEquals(4, arena.shardCount());
+        for (int id = 0; id < 10; id++) assertEquals(100, arena.health(id));
+        assertThrows(IndexOutOfBoundsException.class, () -> arena.health(10));
+        assertEquals(1, new ShardedArena(1, config(100), 0.5).shardCount());
+        assertThrows(IllegalArgumentException.class, () -> new ShardedArena(10, config(100), 1.5));
+    }
+}
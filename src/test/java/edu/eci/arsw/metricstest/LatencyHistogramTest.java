@@ -0,0 +1,39 @@
+package edu.eci.arsw.metricstest;
+
+import edu.eci.arsw.metrics.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+    @Test
+    public void testEmptyHistogram() {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.count());
+        assertEquals(0, h.percentile(99));
+    }
+
+    @Test
+    public void testPercentilesWithinBucketError() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (long v = 1; v <= 10_000; v++) h.record(v * 100);
+        assertEquals(10_000, h.count());
+
+        long p50 = h.percentile(50);
+        long p99 = h.percentile(99);
+        assertTrue(p50 >= 500_000 && p50 <= 500_000 * 17 / 16, "p50=" + p50);
+        assertTrue(p99 >= 990_000 && p99 <= 990_000 * 17 / 16, "p99=" + p99);
+        assertTrue(h.percentile(100) >= 1_000_000);
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(3);
+        h.record(7);
+        assertEquals(3, h.percentile(50));
+        assertEquals(7, h.percentile(100));
+        h.reset();
+        assertEquals(0, h.count());
+    }
+}
@@ -0,0 +1,26 @@
+package edu.eci.arsw.metricstest;
+
+import edu.eci.arsw.metrics.PinningMonitor;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PinningMonitorTest {
+    @Test
+    public void testReportsSleepInsideSynchronized() throws InterruptedException {
+        Object monitor = new Object();
+        try (PinningMonitor pinning = new PinningMonitor(Duration.ofMillis(1))) {
+            Thread t = Thread.ofVirtual().start(() -> {
+                synchronized (monitor) {
+                    try { Thread.sleep(20); } catch (InterruptedException ignored) { }
+                }
+            });
+            t.join();
+            pinning.stop();
+            assertTrue(pinning.events() >= 1);
+            assertTrue(pinning.pinnedNanos() >= 10_000_000L);
+        }
+    }
+}